@@ -0,0 +1,79 @@
+package org.boussinesq.benchmark;
+
+import java.lang.management.ManagementFactory;
+
+import com.sun.management.ThreadMXBean;
+
+/**
+ * The Class AllocationBudget.
+ * 
+ * @desc this class measures the bytes allocated by the benchmark thread
+ *       between start and check, and fails the benchmark if the bytes
+ *       allocated per operation exceed the budget. It is the assertion
+ *       counterpart of the GC profiler of JMH (gc.alloc.rate.norm), to be
+ *       called from the fixture methods of the benchmark, that are run by
+ *       the benchmark thread.
+ */
+public class AllocationBudget {
+
+	static final ThreadMXBean threads = (ThreadMXBean) ManagementFactory
+			.getThreadMXBean();
+
+	/** The bytes that can be allocated per operation, negative to disable. */
+	long budget;
+
+	long startBytes;
+	long operations;
+
+	public AllocationBudget(long budget) {
+
+		this.budget = budget;
+
+	}
+
+	public void start() {
+
+		operations = 0;
+		startBytes = threads.getThreadAllocatedBytes(Thread.currentThread()
+				.getId());
+
+	}
+
+	public void operation() {
+
+		operations++;
+
+	}
+
+	/**
+	 * Check.
+	 * 
+	 * @param name
+	 *            the name of the benchmark, for the message
+	 * @throws IllegalStateException
+	 *             if the bytes allocated per operation exceed the budget
+	 */
+	public void check(String name) {
+
+		long bytes = threads.getThreadAllocatedBytes(Thread.currentThread()
+				.getId()) - startBytes;
+
+		if (budget < 0 || operations == 0) {
+
+			return;
+
+		}
+
+		double bytesPerOperation = (double) bytes / operations;
+
+		if (bytesPerOperation > budget) {
+
+			throw new IllegalStateException(name + " allocates "
+					+ bytesPerOperation + " bytes per operation, budget is "
+					+ budget);
+
+		}
+
+	}
+
+}
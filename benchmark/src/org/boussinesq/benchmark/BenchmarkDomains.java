@@ -0,0 +1,75 @@
+package org.boussinesq.benchmark;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+
+import org.boussinesq.boussinesq.computationalDomain.CatchmentDomain;
+import org.boussinesq.boussinesq.computationalDomain.SongDomain;
+import org.boussinesq.boussinesq.computationalDomain.SyntheticDomain;
+import org.meshNumericalMethods.unstructuredMesh.adjacencyMatrixBased.AbstractRCAdjacencyMatrixBased;
+
+/**
+ * The Class BenchmarkDomains.
+ * 
+ * @desc this class loads the computational domains used by the benchmarks:
+ *       the catchments shipped into the data folder (example10, example30,
+ *       example60) and the synthetic domains, that are built without reading
+ *       any file: the Song domain and the domains of SyntheticDomain, named
+ *       like topology-nx or topology-nxxny (e.g. grid-1000x1000).
+ */
+public class BenchmarkDomains {
+
+	/**
+	 * Load.
+	 * 
+	 * @desc this method loads the domain and fills the array of the source
+	 *       with the rain of the first time step, like the temporal loop of
+	 *       the simulation does.
+	 * 
+	 * @param domain
+	 *            the name of the domain: song, the name of a synthetic domain
+	 *            or the name of a folder into the data directory
+	 * @param dataDirectory
+	 *            the directory that holds the catchments
+	 * 
+	 * @return the computational domain
+	 * @throws FileNotFoundException
+	 *             the file not found exception
+	 */
+	public static AbstractRCAdjacencyMatrixBased load(String domain,
+			String dataDirectory) throws FileNotFoundException {
+
+		AbstractRCAdjacencyMatrixBased mesh;
+
+		if (domain.equals("song")) {
+
+			mesh = new SongDomain();
+
+		} else if (domain.contains("-")) {
+
+			mesh = SyntheticDomain.fromName(domain, 1);
+
+		} else {
+
+			mesh = new CatchmentDomain(new File(dataDirectory, domain));
+
+		}
+
+		mesh.source = new double[mesh.polygonsNumber];
+		mesh.outflow = new double[mesh.polygonsNumber];
+
+		if (mesh.rainHour != null) {
+
+			for (int i = 0; i < mesh.polygonsNumber; i++) {
+
+				mesh.source[i] = mesh.rainHour[0];
+
+			}
+
+		}
+
+		return mesh;
+
+	}
+
+}
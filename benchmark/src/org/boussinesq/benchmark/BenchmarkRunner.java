@@ -0,0 +1,39 @@
+package org.boussinesq.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The Class BenchmarkRunner.
+ * 
+ * @desc this class runs the JMH benchmarks of the code with the GC profiler,
+ *       so together with the ops/s the bytes allocated per operation are
+ *       reported (gc.alloc.rate.norm). The first argument, if present, is the
+ *       regular expression of the benchmarks to run.
+ */
+public class BenchmarkRunner {
+
+	/**
+	 * The main method.
+	 * 
+	 * @param args
+	 *            the arguments
+	 * @throws RunnerException
+	 *             the runner exception
+	 */
+	public static void main(String[] args) throws RunnerException {
+
+		String include = (args.length > 0) ? args[0]
+				: "org.(boussinesq|wordpress).*";
+
+		Options options = new OptionsBuilder().include(include)
+				.addProfiler(GCProfiler.class).build();
+
+		new Runner(options).run();
+
+	}
+
+}
@@ -0,0 +1,197 @@
+package org.boussinesq.boussinesq;
+
+import java.io.FileNotFoundException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.boussinesq.RowCompressedForm.RCConjugateGradient;
+import org.boussinesq.benchmark.AllocationBudget;
+import org.boussinesq.benchmark.BenchmarkDomains;
+import org.boussinesq.machineEpsilon.MachineEpsilon;
+import org.meshNumericalMethods.unstructuredMesh.adjacencyMatrixBased.AbstractRCAdjacencyMatrixBased;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import cern.colt.matrix.tdouble.algo.solver.IterativeSolverDoubleNotConvergedException;
+
+/**
+ * The Class NewtonKernelsBenchmark.
+ * 
+ * @desc this class measures the kernels of the Newton inner loop of the
+ *       simulation: the residual function, the Jacobian, the assembling of T
+ *       and of the known terms and the conjugate gradient, and the whole
+ *       Newton's loop. Every kernel is evaluated at the initial condition of
+ *       the domain, with the Dirichlet cells of the domain if any. Run it with the GC
+ *       profiler (-prof gc) to have the bytes allocated per operation; the
+ *       parameter allocationBudget makes the benchmark fail if the Newton's
+ *       loop allocates more bytes per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NewtonKernelsBenchmark {
+
+	@Param({ "example10", "example30", "example60", "song", "grid-1000x1000",
+			"triangulation-1000x1000" })
+	public String domain;
+
+	@Param("../data")
+	public String dataDirectory;
+
+	/**
+	 * The bytes that the Newton's loop can allocate, negative to disable.
+	 * The arrays are all in NewtonWorkspace and in the conjugate gradient, so
+	 * the Newton's loop mustn't allocate at all.
+	 */
+	@Param("0")
+	public String allocationBudget;
+
+	AbstractRCAdjacencyMatrixBased mesh;
+
+	ComputeBEq cBEq;
+	ComputeR cR;
+	ComputeJr cJr;
+	PdeTermT computeT;
+	PdeTermB computeB;
+	RCConjugateGradient cg;
+
+	double[] eta;
+	double[] arrT;
+	double[] arrb;
+
+	NewtonWorkspace workspace;
+	Solver newton;
+	double tolerance;
+	double[] etaNewton;
+
+	AllocationBudget newtonBudget;
+
+	@Setup
+	public void setUp() throws FileNotFoundException,
+			IterativeSolverDoubleNotConvergedException {
+
+		mesh = BenchmarkDomains.load(domain, dataDirectory);
+
+		cBEq = new ComputeBEq(mesh);
+		cR = new ComputeR();
+		cJr = new ComputeJr();
+		computeT = new PdeTermT();
+		computeB = new PdeTermB();
+		workspace = new NewtonWorkspace(mesh);
+		cg = new RCConjugateGradient(mesh.polygonsNumber);
+
+		eta = new double[mesh.polygonsNumber];
+		System.arraycopy(mesh.eta, 0, eta, 0, mesh.eta.length);
+		cBEq.mask.imposeDirichlet(eta, mesh);
+
+		cBEq.computeBEqArrays(eta, mesh);
+		arrT = cBEq.matT;
+		arrb = cBEq.arrb;
+
+		workspace.jacobian.updateT(arrT);
+		cJr.computeJr(workspace.jacobian, arrT, eta, mesh, cBEq.mask);
+		cR.computeR(arrT, arrb, eta, mesh, cBEq.mask,
+				workspace.residual);
+
+		newton = new Solver(mesh, cBEq.mask);
+		tolerance = new MachineEpsilon().computeMachineEpsilonDouble();
+		etaNewton = new double[mesh.polygonsNumber];
+
+		newtonBudget = new AllocationBudget(Long.parseLong(allocationBudget));
+
+	}
+
+	@Setup(Level.Iteration)
+	public void startIteration() {
+
+		newtonBudget.start();
+
+	}
+
+	@TearDown(Level.Iteration)
+	public void checkIteration() {
+
+		newtonBudget.check("newtonIteration");
+
+	}
+
+	@Benchmark
+	public double[] computeR() {
+
+		cR.computeR(arrT, arrb, eta, mesh, cBEq.mask,
+				workspace.residual);
+
+		return workspace.residual;
+
+	}
+
+	@Benchmark
+	public double[] computeJr() {
+
+		cJr.computeJr(workspace.jacobian, arrT, eta, mesh, cBEq.mask);
+
+		return workspace.jacobian.values;
+
+	}
+
+	@Benchmark
+	public double[] assemblePdeTermT() {
+
+		return cBEq.assemblePdeTerm(eta, mesh, computeT);
+
+	}
+
+	@Benchmark
+	public double[] assembleT() {
+
+		return cBEq.assembleT(eta, mesh, computeT);
+
+	}
+
+	@Benchmark
+	public double[] assemblePdeTermB() {
+
+		return cBEq.assemblePdeTerm(eta, mesh, computeB);
+
+	}
+
+	@Benchmark
+	public double[] solverCG()
+			throws IterativeSolverDoubleNotConvergedException {
+
+		// every solve starts from the null initial guess
+		Arrays.fill(workspace.correction, 0);
+		cg.solverCG(workspace.residual, workspace.jacobian, workspace.correction);
+
+		return workspace.correction;
+
+	}
+
+	@Benchmark
+	public double[] newtonIteration()
+			throws IterativeSolverDoubleNotConvergedException {
+
+		// every Newton's loop starts from the initial condition
+		System.arraycopy(eta, 0, etaNewton, 0, eta.length);
+		newton.newtonIteration(arrb, arrT, etaNewton, tolerance, mesh);
+		newtonBudget.operation();
+
+		return etaNewton;
+
+	}
+
+}
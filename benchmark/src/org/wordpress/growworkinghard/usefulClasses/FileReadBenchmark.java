@@ -0,0 +1,136 @@
+package org.wordpress.growworkinghard.usefulClasses;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The Class FileReadBenchmark.
+ *
+ * @desc this class measures the reading of the input files: the Scanner
+ *       reader (readDoubleMatrixDimension and readColumnDoubleArray, two
+ *       passes over the file with a Scanner for every line) against the one
+ *       pass of readDoubleArray and readIntArray, through a stream and
+ *       through the FileChannel fast path. The files are columns of numbers
+ *       written as the ones of data/example*: decimals for the properties of
+ *       the cells and of the sides (vPlanarArea, vHydrConductivity, ...) and
+ *       integers for the adjacency matrix (Mp, Mj). Every operation reads
+ *       a whole file once (single shot), since the Scanner reader takes
+ *       minutes on millions of lines.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class FileReadBenchmark {
+
+	@Param({ "1000000", "4000000" })
+	public int lines;
+
+	File doubleFile;
+	File intFile;
+
+	@Setup
+	public void setUp() throws IOException {
+
+		Random random = new Random(0);
+
+		doubleFile = File.createTempFile("vProperty", ".txt");
+		intFile = File.createTempFile("Mj", ".txt");
+
+		PrintWriter doubles = new PrintWriter(new BufferedWriter(
+				new FileWriter(doubleFile)));
+		PrintWriter ints = new PrintWriter(new BufferedWriter(new FileWriter(
+				intFile)));
+
+		for (int i = 0; i < lines; i++) {
+
+			doubles.println(Double.toString(random.nextInt(1000000) / 1000.0));
+			ints.println(random.nextInt(lines));
+
+		}
+
+		doubles.close();
+		ints.close();
+
+	}
+
+	@TearDown
+	public void tearDown() {
+
+		doubleFile.delete();
+		intFile.delete();
+
+	}
+
+	@Benchmark
+	public double[] scannerDoubleArray() throws FileNotFoundException {
+
+		FileRead read = new FileRead();
+		read.readDoubleMatrixDimension(doubleFile);
+		read.readColumnDoubleArray(doubleFile);
+
+		return read.doubleArray;
+
+	}
+
+	@Benchmark
+	public double[] streamDoubleArray() throws FileNotFoundException {
+
+		return new NumberFileReader(doubleFile, false).readDoubleArray();
+
+	}
+
+	@Benchmark
+	public double[] channelDoubleArray() throws FileNotFoundException {
+
+		return new NumberFileReader(doubleFile, true).readDoubleArray();
+
+	}
+
+	@Benchmark
+	public int[] scannerIntArray() throws FileNotFoundException {
+
+		FileRead read = new FileRead();
+		read.readIntMatrixDimension(intFile);
+		read.readColumnIntArray(intFile);
+
+		return read.intArray;
+
+	}
+
+	@Benchmark
+	public int[] streamIntArray() throws FileNotFoundException {
+
+		return new NumberFileReader(intFile, false).readIntArray();
+
+	}
+
+	@Benchmark
+	public int[] channelIntArray() throws FileNotFoundException {
+
+		return new NumberFileReader(intFile, true).readIntArray();
+
+	}
+
+}
@@ -0,0 +1,970 @@
+package org.boussinesq.RowCompressedForm;
+
+import java.util.Arrays;
+
+/**
+ * The Class RCAlgebraicMultigridPreconditioner.
+ *
+ * @desc this class implements a smoothed aggregation algebraic multigrid
+ *       preconditioner [Vanek, Mandel & Brezina, 1996]. Every level groups the
+ *       cells in aggregates of strongly connected neighbours, the tentative
+ *       prolongator is piecewise constant on the aggregates and it is smoothed
+ *       with one damped Jacobi step; the matrix of the coarse level is the
+ *       Galerkin product R A P, with R = P'. The preconditioner is one V-cycle
+ *       with a forward Gauss-Seidel sweep before and a backward Gauss-Seidel
+ *       sweep after the coarse correction, so it is symmetric and can be used
+ *       by the conjugate gradient; the coarsest level is solved with a dense
+ *       Cholesky factorization.
+ *
+ *       The aggregates and the prolongators depend only on the cells that
+ *       are connected, i.e. on the wet/dry pattern of the Jacobian: they are
+ *       built again only when the pattern changes. At every other solution
+ *       only the values of the coarse matrices are computed again.
+ */
+public class RCAlgebraicMultigridPreconditioner implements RCPreconditioner {
+
+	/** The number of cells above which the Newton's solvers use the AMG. */
+	public static final int MINSIZE = 100000;
+
+	/** The threshold of the strength of the connection between two cells. */
+	public static final double STRENGTH = 0.08;
+
+	/** The max size of the coarsest level. */
+	public static final int COARSESIZE = 256;
+
+	/** The max number of levels. */
+	public static final int MAXLEVELS = 12;
+
+	/** The number of symmetric Gauss-Seidel sweeps on a large coarsest level. */
+	public static final int COARSESWEEPS = 4;
+
+	/** The number of times the hierarchy was built. */
+	public int hierarchyBuilds;
+
+	/** The levels of the hierarchy, the first one is the Jacobian. */
+	Level[] levels;
+
+	/** The number of levels. */
+	int levelsNumber;
+
+	/** The wet/dry pattern of the Jacobian, true where the entry isn't null. */
+	boolean[] pattern;
+
+	/** The dense Cholesky factor of the coarsest matrix, by rows. */
+	double[] coarseFactor;
+
+	/**
+	 * Instantiates a new algebraic multigrid preconditioner.
+	 *
+	 * @param size
+	 *            the number of rows of the matrix
+	 * @param Mp
+	 *            the array that holds the number of non-zero entries in
+	 *            adjacency matrix
+	 * @param Mi
+	 *            the array that holds the column indices of non-zero entries
+	 */
+	public RCAlgebraicMultigridPreconditioner(int size, int[] Mp, int[] Mi) {
+
+		pattern = new boolean[Mi.length];
+
+		levels = new Level[MAXLEVELS];
+		levels[0] = new Level(new Matrix(size, size, Mp, Mi, null));
+
+	}
+
+	public void setMatrix(RCJacobian matrix) {
+
+		Level fine = levels[0];
+
+		// the Jacobian is read in place
+		fine.A.x = matrix.values;
+
+		if (patternChanged(matrix)) {
+
+			buildHierarchy();
+			hierarchyBuilds++;
+
+		}
+
+		for (int l = 0; l < levelsNumber - 1; l++) {
+
+			levels[l].computeCoarseMatrix(levels[l + 1].A);
+
+		}
+
+		for (int l = 0; l < levelsNumber; l++) {
+
+			levels[l].computeDiagonal();
+
+		}
+
+		factorizeCoarsest();
+
+	}
+
+	public double apply(double[] r, double[] z) {
+
+		Level fine = levels[0];
+
+		fine.b = r;
+		fine.x = z;
+
+		cycle(0);
+
+		double rz = 0;
+
+		for (int i = 0; i < r.length; i++) {
+
+			rz += r[i] * z[i];
+
+		}
+
+		return rz;
+
+	}
+
+	/**
+	 * Pattern changed.
+	 *
+	 * @desc this method compares the non-null entries of the matrix with the
+	 *       ones of the last build of the hierarchy and stores the new pattern
+	 *
+	 * @return true if the hierarchy must be built again
+	 */
+	boolean patternChanged(RCJacobian matrix) {
+
+		boolean changed = levelsNumber == 0;
+
+		for (int k = 0; k < pattern.length; k++) {
+
+			boolean wet = matrix.values[k] != 0;
+
+			if (wet != pattern[k]) {
+
+				pattern[k] = wet;
+				changed = true;
+
+			}
+
+		}
+
+		return changed;
+
+	}
+
+	/**
+	 * Build hierarchy.
+	 *
+	 * @desc this method aggregates every level until the coarsest level is
+	 *       small enough or the aggregation doesn't reduce its size
+	 */
+	void buildHierarchy() {
+
+		levelsNumber = 1;
+
+		while (levelsNumber < MAXLEVELS) {
+
+			Level level = levels[levelsNumber - 1];
+
+			if (level.A.rows <= COARSESIZE) {
+
+				break;
+
+			}
+
+			level.computeDiagonal();
+
+			int[] aggregates = new int[level.A.rows];
+			int aggregatesNumber = level.aggregate(aggregates);
+
+			if (aggregatesNumber == 0
+					|| aggregatesNumber > 0.8 * level.A.rows) {
+
+				break;
+
+			}
+
+			level.buildProlongator(aggregates, aggregatesNumber);
+
+			Matrix coarse = level.buildCoarseMatrix();
+			level.computeCoarseMatrix(coarse);
+
+			levels[levelsNumber] = new Level(coarse);
+			levelsNumber++;
+
+		}
+
+		// the levels that aren't used any more are released
+		for (int l = levelsNumber; l < MAXLEVELS; l++) {
+
+			levels[l] = null;
+
+		}
+
+		levels[levelsNumber - 1].P = null;
+
+		int coarseSize = levels[levelsNumber - 1].A.rows;
+
+		coarseFactor = coarseSize <= COARSESIZE ? new double[coarseSize
+				* coarseSize] : null;
+
+	}
+
+	/**
+	 * Factorize coarsest.
+	 *
+	 * @desc this method computes the dense Cholesky factor of the coarsest
+	 *       matrix, if it is small enough
+	 */
+	void factorizeCoarsest() {
+
+		if (coarseFactor == null) {
+
+			return;
+
+		}
+
+		Matrix A = levels[levelsNumber - 1].A;
+		int n = A.rows;
+
+		Arrays.fill(coarseFactor, 0);
+
+		for (int i = 0; i < n; i++) {
+
+			for (int k = A.p[i]; k < A.p[i + 1]; k++) {
+
+				coarseFactor[i * n + A.i[k]] += A.x[k];
+
+			}
+
+		}
+
+		for (int j = 0; j < n; j++) {
+
+			double diagonal = coarseFactor[j * n + j];
+
+			for (int k = 0; k < j; k++) {
+
+				diagonal -= coarseFactor[j * n + k] * coarseFactor[j * n + k];
+
+			}
+
+			diagonal = Math.sqrt(diagonal);
+			coarseFactor[j * n + j] = diagonal;
+
+			for (int i = j + 1; i < n; i++) {
+
+				double sum = coarseFactor[i * n + j];
+
+				for (int k = 0; k < j; k++) {
+
+					sum -= coarseFactor[i * n + k] * coarseFactor[j * n + k];
+
+				}
+
+				coarseFactor[i * n + j] = sum / diagonal;
+
+			}
+
+		}
+
+	}
+
+	/**
+	 * Cycle.
+	 *
+	 * @desc this method computes x = M^-1 b on the level l with a V-cycle
+	 */
+	void cycle(int l) {
+
+		Level level = levels[l];
+
+		if (l == levelsNumber - 1) {
+
+			solveCoarsest(level);
+			return;
+
+		}
+
+		Level coarse = levels[l + 1];
+
+		Arrays.fill(level.x, 0);
+
+		level.smooth(true);
+		level.restrictResidual(coarse.b);
+
+		cycle(l + 1);
+
+		level.prolongate(coarse.x);
+		level.smooth(false);
+
+	}
+
+	/**
+	 * Solve coarsest.
+	 *
+	 * @desc this method solves the coarsest level with the Cholesky factor or,
+	 *       if the level is too large, with symmetric Gauss-Seidel sweeps
+	 */
+	void solveCoarsest(Level level) {
+
+		double[] b = level.b;
+		double[] x = level.x;
+
+		if (coarseFactor == null) {
+
+			Arrays.fill(x, 0);
+
+			for (int s = 0; s < COARSESWEEPS; s++) {
+
+				level.smooth(true);
+				level.smooth(false);
+
+			}
+
+			return;
+
+		}
+
+		int n = level.A.rows;
+
+		for (int i = 0; i < n; i++) {
+
+			double sum = b[i];
+
+			for (int k = 0; k < i; k++) {
+
+				sum -= coarseFactor[i * n + k] * x[k];
+
+			}
+
+			x[i] = sum / coarseFactor[i * n + i];
+
+		}
+
+		for (int i = n - 1; i >= 0; i--) {
+
+			double sum = x[i];
+
+			for (int k = i + 1; k < n; k++) {
+
+				sum -= coarseFactor[k * n + i] * x[k];
+
+			}
+
+			x[i] = sum / coarseFactor[i * n + i];
+
+		}
+
+	}
+
+	/**
+	 * The Class Matrix.
+	 *
+	 * @desc a sparse matrix in Row Compressed Form
+	 */
+	static class Matrix {
+
+		int rows;
+		int columns;
+		int[] p;
+		int[] i;
+		double[] x;
+
+		Matrix(int rows, int columns, int[] p, int[] i, double[] x) {
+
+			this.rows = rows;
+			this.columns = columns;
+			this.p = p;
+			this.i = i;
+			this.x = x;
+
+		}
+
+		/**
+		 * Multiply structure.
+		 *
+		 * @desc this method computes the structure of the product of this
+		 *       matrix and B; the values are computed by multiply
+		 *
+		 * @param marker
+		 *            a work array with one entry per column of B
+		 */
+		Matrix multiplyStructure(Matrix B, int[] marker) {
+
+			int[] Cp = new int[rows + 1];
+
+			Arrays.fill(marker, -1);
+
+			for (int r = 0; r < rows; r++) {
+
+				int count = 0;
+
+				for (int k = p[r]; k < p[r + 1]; k++) {
+
+					int row = i[k];
+
+					for (int l = B.p[row]; l < B.p[row + 1]; l++) {
+
+						if (marker[B.i[l]] != r) {
+
+							marker[B.i[l]] = r;
+							count++;
+
+						}
+
+					}
+
+				}
+
+				Cp[r + 1] = Cp[r] + count;
+
+			}
+
+			int[] Ci = new int[Cp[rows]];
+
+			Arrays.fill(marker, -1);
+
+			for (int r = 0; r < rows; r++) {
+
+				int last = Cp[r];
+
+				for (int k = p[r]; k < p[r + 1]; k++) {
+
+					int row = i[k];
+
+					for (int l = B.p[row]; l < B.p[row + 1]; l++) {
+
+						if (marker[B.i[l]] != r) {
+
+							marker[B.i[l]] = r;
+							Ci[last++] = B.i[l];
+
+						}
+
+					}
+
+				}
+
+			}
+
+			return new Matrix(rows, B.columns, Cp, Ci, new double[Ci.length]);
+
+		}
+
+		/**
+		 * Multiply.
+		 *
+		 * @desc this method computes the values of C = this B, where the
+		 *       structure of C was computed by multiplyStructure
+		 *
+		 * @param marker
+		 *            a work array with one entry per column of B
+		 */
+		void multiply(Matrix B, Matrix C, int[] marker) {
+
+			for (int r = 0; r < rows; r++) {
+
+				for (int k = C.p[r]; k < C.p[r + 1]; k++) {
+
+					marker[C.i[k]] = k;
+					C.x[k] = 0;
+
+				}
+
+				for (int k = p[r]; k < p[r + 1]; k++) {
+
+					int row = i[k];
+
+					for (int l = B.p[row]; l < B.p[row + 1]; l++) {
+
+						C.x[marker[B.i[l]]] += x[k] * B.x[l];
+
+					}
+
+				}
+
+			}
+
+		}
+
+		/**
+		 * Transpose.
+		 *
+		 * @return the transpose of this matrix, with its values
+		 */
+		Matrix transpose() {
+
+			int[] Tp = new int[columns + 1];
+
+			for (int k = 0; k < p[rows]; k++) {
+
+				Tp[i[k] + 1]++;
+
+			}
+
+			for (int c = 0; c < columns; c++) {
+
+				Tp[c + 1] += Tp[c];
+
+			}
+
+			int[] Ti = new int[p[rows]];
+			double[] Tx = new double[p[rows]];
+			int[] next = Arrays.copyOf(Tp, columns);
+
+			for (int r = 0; r < rows; r++) {
+
+				for (int k = p[r]; k < p[r + 1]; k++) {
+
+					int position = next[i[k]]++;
+					Ti[position] = r;
+					Tx[position] = x[k];
+
+				}
+
+			}
+
+			return new Matrix(columns, rows, Tp, Ti, Tx);
+
+		}
+
+	}
+
+	/**
+	 * The Class Level.
+	 *
+	 * @desc a level of the hierarchy: its matrix, the prolongator to the
+	 *       following level and the arrays used by the V-cycle
+	 */
+	static class Level {
+
+		/** The matrix of the level. */
+		Matrix A;
+
+		/** The prolongator from the following level. */
+		Matrix P;
+
+		/** The restriction to the following level, R = P'. */
+		Matrix R;
+
+		/** The product A P. */
+		Matrix AP;
+
+		/** The work arrays for the products, one entry per column. */
+		int[] markerAP;
+		int[] markerRAP;
+
+		/** The indices of the diagonal entries. */
+		int[] indexDiag;
+
+		/** The diagonal entries. */
+		double[] diagonal;
+
+		/** The known terms, the solution and the residual of the level. */
+		double[] b;
+		double[] x;
+		double[] r;
+
+		Level(Matrix A) {
+
+			this.A = A;
+
+			indexDiag = new RCIndexDiagonalElement().computeIndexDiag(A.rows,
+					A.p, A.i);
+			diagonal = new double[A.rows];
+
+			b = new double[A.rows];
+			x = new double[A.rows];
+			r = new double[A.rows];
+
+		}
+
+		void computeDiagonal() {
+
+			for (int i = 0; i < A.rows; i++) {
+
+				diagonal[i] = A.x[indexDiag[i]];
+
+			}
+
+		}
+
+		/**
+		 * Aggregate.
+		 *
+		 * @desc this method groups the cells in aggregates. Two cells are
+		 *       strongly connected if |a_ij| >= STRENGTH sqrt(a_ii a_jj). At
+		 *       first every cell whose strong neighbours are all free makes
+		 *       an aggregate with them; then the free cells join the aggregate
+		 *       of a strong neighbour; the last free cells make aggregates
+		 *       with their free strong neighbours. The cells without strong
+		 *       connections (e.g. the dry cells) stay out of the aggregates:
+		 *       the smoother solves them exactly.
+		 *
+		 * @param aggregates
+		 *            the array where the aggregate of every cell is written, -1
+		 *            for the cells without aggregate
+		 *
+		 * @return the number of aggregates
+		 */
+		int aggregate(int[] aggregates) {
+
+			final int FREE = -2;
+			final int ISOLATED = -1;
+
+			int n = A.rows;
+			int count = 0;
+
+			for (int i = 0; i < n; i++) {
+
+				aggregates[i] = ISOLATED;
+
+				for (int k = A.p[i]; k < A.p[i + 1]; k++) {
+
+					if (isStrong(i, k)) {
+
+						aggregates[i] = FREE;
+						break;
+
+					}
+
+				}
+
+			}
+
+			// first pass: the root and all its strong neighbours are free
+			for (int i = 0; i < n; i++) {
+
+				if (aggregates[i] != FREE) {
+
+					continue;
+
+				}
+
+				boolean free = true;
+
+				for (int k = A.p[i]; k < A.p[i + 1] && free; k++) {
+
+					if (isStrong(i, k) && aggregates[A.i[k]] != FREE) {
+
+						free = false;
+
+					}
+
+				}
+
+				if (!free) {
+
+					continue;
+
+				}
+
+				aggregates[i] = count;
+
+				for (int k = A.p[i]; k < A.p[i + 1]; k++) {
+
+					if (isStrong(i, k)) {
+
+						aggregates[A.i[k]] = count;
+
+					}
+
+				}
+
+				count++;
+
+			}
+
+			// second pass: the free cells join a strong neighbour, the
+			// aggregates are marked with their index plus n
+			for (int i = 0; i < n; i++) {
+
+				if (aggregates[i] != FREE) {
+
+					continue;
+
+				}
+
+				for (int k = A.p[i]; k < A.p[i + 1]; k++) {
+
+					int j = A.i[k];
+
+					if (isStrong(i, k) && aggregates[j] >= 0
+							&& aggregates[j] < n) {
+
+						aggregates[i] = aggregates[j] + n;
+						break;
+
+					}
+
+				}
+
+			}
+
+			for (int i = 0; i < n; i++) {
+
+				if (aggregates[i] >= n) {
+
+					aggregates[i] -= n;
+
+				}
+
+			}
+
+			// third pass: the last free cells make new aggregates
+			for (int i = 0; i < n; i++) {
+
+				if (aggregates[i] != FREE) {
+
+					continue;
+
+				}
+
+				aggregates[i] = count;
+
+				for (int k = A.p[i]; k < A.p[i + 1]; k++) {
+
+					if (isStrong(i, k) && aggregates[A.i[k]] == FREE) {
+
+						aggregates[A.i[k]] = count;
+
+					}
+
+				}
+
+				count++;
+
+			}
+
+			return count;
+
+		}
+
+		boolean isStrong(int i, int k) {
+
+			int j = A.i[k];
+
+			return j != i
+					&& A.x[k] != 0
+					&& Math.abs(A.x[k]) >= STRENGTH
+							* Math.sqrt(Math.abs(diagonal[i] * diagonal[j]));
+
+		}
+
+		/**
+		 * Build prolongator.
+		 *
+		 * @desc this method computes P = (I - omega D^-1 A) Ptent, where Ptent
+		 *       is the normalized piecewise constant prolongator of the
+		 *       aggregates and omega = 4/3 divided by the Gershgorin bound of
+		 *       the spectral radius of D^-1 A
+		 */
+		void buildProlongator(int[] aggregates, int aggregatesNumber) {
+
+			int n = A.rows;
+
+			int[] aggregateSize = new int[aggregatesNumber];
+
+			for (int i = 0; i < n; i++) {
+
+				if (aggregates[i] >= 0) {
+
+					aggregateSize[aggregates[i]]++;
+
+				}
+
+			}
+
+			int[] Tp = new int[n + 1];
+
+			for (int i = 0; i < n; i++) {
+
+				Tp[i + 1] = Tp[i] + (aggregates[i] >= 0 ? 1 : 0);
+
+			}
+
+			int[] Ti = new int[Tp[n]];
+			double[] Tx = new double[Tp[n]];
+
+			for (int i = 0; i < n; i++) {
+
+				if (aggregates[i] >= 0) {
+
+					Ti[Tp[i]] = aggregates[i];
+					Tx[Tp[i]] = 1 / Math.sqrt(aggregateSize[aggregates[i]]);
+
+				}
+
+			}
+
+			Matrix tentative = new Matrix(n, aggregatesNumber, Tp, Ti, Tx);
+
+			double radius = 0;
+
+			for (int i = 0; i < n; i++) {
+
+				double sum = 0;
+
+				for (int k = A.p[i]; k < A.p[i + 1]; k++) {
+
+					sum += Math.abs(A.x[k]);
+
+				}
+
+				radius = Math.max(radius, sum / Math.abs(diagonal[i]));
+
+			}
+
+			double omega = 4.0 / 3.0 / radius;
+
+			int[] marker = new int[aggregatesNumber];
+
+			P = A.multiplyStructure(tentative, marker);
+			A.multiply(tentative, P, marker);
+
+			for (int i = 0; i < n; i++) {
+
+				for (int k = P.p[i]; k < P.p[i + 1]; k++) {
+
+					P.x[k] *= -omega / diagonal[i];
+
+					if (aggregates[i] == P.i[k]) {
+
+						P.x[k] += Tx[Tp[i]];
+
+					}
+
+				}
+
+			}
+
+			R = P.transpose();
+
+		}
+
+		/**
+		 * Build coarse matrix.
+		 *
+		 * @desc this method computes the structure of A P and of R A P
+		 *
+		 * @return the matrix of the following level, without values
+		 */
+		Matrix buildCoarseMatrix() {
+
+			markerAP = new int[P.columns];
+			markerRAP = new int[P.columns];
+
+			AP = A.multiplyStructure(P, markerAP);
+
+			return R.multiplyStructure(AP, markerRAP);
+
+		}
+
+		/**
+		 * Compute coarse matrix.
+		 *
+		 * @desc this method computes the values of R A P on the structure
+		 *       computed by buildCoarseMatrix
+		 */
+		void computeCoarseMatrix(Matrix coarse) {
+
+			A.multiply(P, AP, markerAP);
+			R.multiply(AP, coarse, markerRAP);
+
+		}
+
+		/**
+		 * Smooth.
+		 *
+		 * @desc this method computes one Gauss-Seidel sweep on A x = b
+		 *
+		 * @param forward
+		 *            true for the forward sweep, false for the backward sweep
+		 */
+		void smooth(boolean forward) {
+
+			int n = A.rows;
+
+			for (int s = 0; s < n; s++) {
+
+				int i = forward ? s : n - 1 - s;
+
+				double sum = b[i];
+
+				for (int k = A.p[i]; k < A.p[i + 1]; k++) {
+
+					sum -= A.x[k] * x[A.i[k]];
+
+				}
+
+				x[i] += sum / diagonal[i];
+
+			}
+
+		}
+
+		/**
+		 * Restrict residual.
+		 *
+		 * @desc this method computes r = b - A x and its restriction R r
+		 */
+		void restrictResidual(double[] coarseB) {
+
+			for (int i = 0; i < A.rows; i++) {
+
+				double sum = b[i];
+
+				for (int k = A.p[i]; k < A.p[i + 1]; k++) {
+
+					sum -= A.x[k] * x[A.i[k]];
+
+				}
+
+				r[i] = sum;
+
+			}
+
+			for (int c = 0; c < R.rows; c++) {
+
+				double sum = 0;
+
+				for (int k = R.p[c]; k < R.p[c + 1]; k++) {
+
+					sum += R.x[k] * r[R.i[k]];
+
+				}
+
+				coarseB[c] = sum;
+
+			}
+
+		}
+
+		/**
+		 * Prolongate.
+		 *
+		 * @desc this method adds the coarse correction: x = x + P xc
+		 */
+		void prolongate(double[] coarseX) {
+
+			for (int i = 0; i < A.rows; i++) {
+
+				double sum = 0;
+
+				for (int k = P.p[i]; k < P.p[i + 1]; k++) {
+
+					sum += P.x[k] * coarseX[P.i[k]];
+
+				}
+
+				x[i] += sum;
+
+			}
+
+		}
+
+	}
+
+}
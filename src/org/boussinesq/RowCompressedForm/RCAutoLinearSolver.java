@@ -0,0 +1,160 @@
+package org.boussinesq.RowCompressedForm;
+
+import org.wordpress.growworkinghard.usefulClasses.TextIO;
+
+import cern.colt.matrix.tdouble.algo.solver.IterativeSolverDoubleNotConvergedException;
+
+/**
+ * The Class RCAutoLinearSolver.
+ *
+ * @desc this class chooses the linear solver on the actual mesh: at the first
+ *       solution every candidate of RCLinearSolverFactory solves the system a
+ *       few times from the same initial guess, and the fastest one that
+ *       converges is used for the rest of the simulation. The time to build
+ *       the solver isn't counted, since it is spent once per simulation.
+ */
+public class RCAutoLinearSolver implements RCLinearSolver {
+
+	/** The number of timed solutions of every candidate. */
+	public static final int CALIBRATIONSOLUTIONS = 3;
+
+	/** The name of the chosen solver, null before the calibration. */
+	public String selected;
+
+	/** The chosen solver. */
+	RCLinearSolver solver;
+
+	/** The absolute tolerance, passed to the candidates and to the solver. */
+	double absoluteTolerance = RCConjugateGradient.ABSOLUTETOLERANCE;
+
+	int size;
+	int[] Mp;
+	int[] Mi;
+
+	/**
+	 * Instantiates a new auto linear solver.
+	 *
+	 * @param size
+	 *            the number of rows of the matrix
+	 * @param Mp
+	 *            the array that holds the number of non-zero entries in
+	 *            adjacency matrix
+	 * @param Mi
+	 *            the array that holds the column indices of non-zero entries
+	 */
+	public RCAutoLinearSolver(int size, int[] Mp, int[] Mi) {
+
+		this.size = size;
+		this.Mp = Mp;
+		this.Mi = Mi;
+
+	}
+
+	public void solve(double[] b, RCJacobian A, double[] x)
+			throws IterativeSolverDoubleNotConvergedException {
+
+		if (solver == null) {
+
+			calibrate(b, A, x);
+
+		}
+
+		solver.solve(b, A, x);
+
+	}
+
+	public void setAbsoluteTolerance(double absoluteTolerance) {
+
+		this.absoluteTolerance = absoluteTolerance;
+
+		if (solver != null) {
+
+			solver.setAbsoluteTolerance(absoluteTolerance);
+
+		}
+
+	}
+
+	/**
+	 * Calibrate.
+	 *
+	 * @desc this method times the candidates on the system A x = b and keeps
+	 *       the fastest; x isn't modified
+	 */
+	void calibrate(double[] b, RCJacobian A, double[] x) {
+
+		RCLinearSolverFactory factory = new RCLinearSolverFactory();
+
+		double[] trial = new double[size];
+		long bestTime = Long.MAX_VALUE;
+
+		for (String name : RCLinearSolverFactory.CANDIDATES) {
+
+			if (name.equals("cholesky")
+					&& size > RCLinearSolverFactory.CHOLESKYMAXSIZE) {
+
+				continue;
+
+			}
+
+			try {
+
+				RCLinearSolver candidate = factory.createLinearSolver(name,
+						size, Mp, Mi);
+				candidate.setAbsoluteTolerance(absoluteTolerance);
+
+				long time = Long.MAX_VALUE;
+
+				for (int s = 0; s < CALIBRATIONSOLUTIONS; s++) {
+
+					System.arraycopy(x, 0, trial, 0, size);
+
+					long start = System.nanoTime();
+					candidate.solve(b, A, trial);
+					time = Math.min(time, System.nanoTime() - start);
+
+				}
+
+				TextIO.putln("Linear solver " + name + ": " + time / 1000
+						+ " us");
+
+				if (time < bestTime) {
+
+					bestTime = time;
+					selected = name;
+					solver = candidate;
+
+				}
+
+			} catch (IterativeSolverDoubleNotConvergedException e) {
+
+				TextIO.putln("Linear solver " + name + ": not converged");
+
+			} catch (IllegalArgumentException e) {
+
+				// the candidate isn't available in the factory
+				TextIO.putln("Linear solver " + name + ": " + e.getMessage());
+
+			} catch (IllegalStateException e) {
+
+				// the Cholesky factorization of a matrix that isn't positive
+				// definite
+				TextIO.putln("Linear solver " + name + ": " + e.getMessage());
+
+			}
+
+		}
+
+		if (solver == null) {
+
+			selected = "cg";
+			solver = factory.createLinearSolver(selected, size, Mp, Mi);
+			solver.setAbsoluteTolerance(absoluteTolerance);
+
+		}
+
+		TextIO.putln("Linear solver: " + selected);
+
+	}
+
+}
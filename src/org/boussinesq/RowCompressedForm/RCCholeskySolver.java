@@ -0,0 +1,435 @@
+package org.boussinesq.RowCompressedForm;
+
+/**
+ * The Class RCCholeskySolver.
+ *
+ * @desc this class solves a symmetric positive definite system in Row
+ *       Compressed Form with the sparse Cholesky factorization P A P' = L L'.
+ *       The pattern of the Jacobian never changes, so the fill-reducing
+ *       ordering P, the elimination tree and the structure of L are computed
+ *       once in the constructor [Davis, 2006]; at every solution only the
+ *       values of L are computed (up-looking algorithm) and the two
+ *       triangular systems are solved. Nothing is allocated after the
+ *       constructor.
+ */
+public class RCCholeskySolver implements RCLinearSolver {
+
+	/** The number of rows of the matrix. */
+	int size;
+
+	/** The permutation: the k-th row of P A P' is the row perm[k] of A. */
+	int[] perm;
+
+	/** The inverse permutation. */
+	int[] pinv;
+
+	/** The array of the beginning of every row of the lower part of P A P'. */
+	int[] Cp;
+
+	/** The array of the columns of the lower part of P A P', permuted. */
+	int[] Ci;
+
+	/** The array of the indices in A of the entries of P A P'. */
+	int[] Cmap;
+
+	/** The array of the beginning of the pattern of every row of L. */
+	int[] Rp;
+
+	/** The pattern of every row of L, in topological order. */
+	int[] Rj;
+
+	/** The array of the beginning of every column of L. */
+	int[] Lp;
+
+	/** The row indices of L, the diagonal entry is the first of the column. */
+	int[] Li;
+
+	/** The values of L. */
+	double[] Lx;
+
+	/** The work array of the numeric factorization and of the solution. */
+	double[] work;
+
+	/** The array of the next free position of every column of L. */
+	int[] next;
+
+	/**
+	 * Instantiates a new Cholesky solver.
+	 *
+	 * @param size
+	 *            the number of rows of the matrix
+	 * @param Mp
+	 *            the array that holds the number of non-zero entries in
+	 *            adjacency matrix
+	 * @param Mi
+	 *            the array that holds the column indices of non-zero entries
+	 */
+	public RCCholeskySolver(int size, int[] Mp, int[] Mi) {
+
+		this.size = size;
+
+		perm = new RCMinimumDegreeOrdering().computeOrdering(size, Mp, Mi);
+		pinv = new int[size];
+
+		for (int k = 0; k < size; k++) {
+
+			pinv[perm[k]] = k;
+
+		}
+
+		computePermutedMatrix(Mp, Mi);
+
+		int[] parent = computeEliminationTree();
+
+		computeStructure(parent);
+
+		work = new double[size];
+		next = new int[size];
+
+	}
+
+	/**
+	 * Compute permuted matrix.
+	 *
+	 * @desc this method computes the pattern of the lower triangular part of
+	 *       P A P' and the position in A of every entry
+	 */
+	void computePermutedMatrix(int[] Mp, int[] Mi) {
+
+		Cp = new int[size + 1];
+
+		for (int k = 0; k < size; k++) {
+
+			int row = perm[k];
+
+			for (int p = Mp[row]; p < Mp[row + 1]; p++) {
+
+				if (pinv[Mi[p]] <= k) {
+
+					Cp[k + 1]++;
+
+				}
+
+			}
+
+			Cp[k + 1] += Cp[k];
+
+		}
+
+		Ci = new int[Cp[size]];
+		Cmap = new int[Cp[size]];
+
+		for (int k = 0; k < size; k++) {
+
+			int row = perm[k];
+			int last = Cp[k];
+
+			for (int p = Mp[row]; p < Mp[row + 1]; p++) {
+
+				if (pinv[Mi[p]] <= k) {
+
+					Ci[last] = pinv[Mi[p]];
+					Cmap[last] = p;
+					last++;
+
+				}
+
+			}
+
+		}
+
+	}
+
+	/**
+	 * Compute elimination tree.
+	 *
+	 * @return the array of the parent of every node, -1 for the roots
+	 */
+	int[] computeEliminationTree() {
+
+		int[] parent = new int[size];
+		int[] ancestor = new int[size];
+
+		for (int k = 0; k < size; k++) {
+
+			parent[k] = -1;
+			ancestor[k] = -1;
+
+			for (int p = Cp[k]; p < Cp[k + 1]; p++) {
+
+				// walk from Ci[p] to the root, compressing the path to k
+				for (int i = Ci[p]; i != -1 && i < k;) {
+
+					int nextAncestor = ancestor[i];
+					ancestor[i] = k;
+
+					if (nextAncestor == -1) {
+
+						parent[i] = k;
+
+					}
+
+					i = nextAncestor;
+
+				}
+
+			}
+
+		}
+
+		return parent;
+
+	}
+
+	/**
+	 * Compute structure.
+	 *
+	 * @desc this method computes the pattern of every row of L, walking the
+	 *       elimination tree from the entries of the row of P A P', and from
+	 *       the row patterns the structure of the columns of L
+	 */
+	void computeStructure(int[] parent) {
+
+		int[] flag = new int[size];
+		int[] stack = new int[size];
+		int[] counts = new int[size];
+
+		Rp = new int[size + 1];
+
+		// first pass: the length of the rows and of the columns of L
+		for (int k = 0; k < size; k++) {
+
+			Rp[k + 1] = Rp[k] + reach(k, parent, flag, stack, null, 0);
+
+		}
+
+		Rj = new int[Rp[size]];
+
+		for (int k = 0; k < size; k++) {
+
+			reach(k, parent, flag, stack, Rj, Rp[k]);
+
+			for (int p = Rp[k]; p < Rp[k + 1]; p++) {
+
+				counts[Rj[p]]++;
+
+			}
+
+		}
+
+		Lp = new int[size + 1];
+
+		for (int j = 0; j < size; j++) {
+
+			Lp[j + 1] = Lp[j] + counts[j] + 1;
+
+		}
+
+		Li = new int[Lp[size]];
+		Lx = new double[Lp[size]];
+
+		int[] last = new int[size];
+
+		for (int j = 0; j < size; j++) {
+
+			Li[Lp[j]] = j;
+			last[j] = Lp[j] + 1;
+
+		}
+
+		for (int k = 0; k < size; k++) {
+
+			for (int p = Rp[k]; p < Rp[k + 1]; p++) {
+
+				Li[last[Rj[p]]++] = k;
+
+			}
+
+		}
+
+	}
+
+	/**
+	 * Reach.
+	 *
+	 * @desc this method computes the pattern of the row k of L, i.e. the nodes
+	 *       of the elimination tree reached from the entries of the row k of
+	 *       P A P', in topological order
+	 *
+	 * @param pattern
+	 *            the array where the pattern is written from position start,
+	 *            null to count only
+	 *
+	 * @return the number of entries of the pattern
+	 */
+	int reach(int k, int[] parent, int[] flag, int[] stack, int[] pattern,
+			int start) {
+
+		// the flags are set to k + 1 so the initial zeros are never marked
+		int top = size;
+
+		flag[k] = k + 1;
+
+		for (int p = Cp[k]; p < Cp[k + 1]; p++) {
+
+			int i = Ci[p];
+			int length = 0;
+
+			while (flag[i] != k + 1) {
+
+				stack[length++] = i;
+				flag[i] = k + 1;
+				i = parent[i];
+
+			}
+
+			// the path is pushed on the top of the stack in reverse order
+			while (length > 0) {
+
+				stack[--top] = stack[--length];
+
+			}
+
+		}
+
+		if (pattern != null) {
+
+			System.arraycopy(stack, top, pattern, start, size - top);
+
+		}
+
+		return size - top;
+
+	}
+
+	/**
+	 * Factorize.
+	 *
+	 * @desc this method computes the values of L row by row: the row k of L
+	 *       is the solution of a triangular system with the rows of L already
+	 *       computed
+	 *
+	 * @param matrix
+	 *            the matrix in Row Compressed Form
+	 * @throws IllegalStateException
+	 *             if the matrix isn't positive definite
+	 */
+	public void factorize(RCJacobian matrix) {
+
+		for (int k = 0; k < size; k++) {
+
+			for (int p = Cp[k]; p < Cp[k + 1]; p++) {
+
+				work[Ci[p]] = matrix.values[Cmap[p]];
+
+			}
+
+			double diagonal = work[k];
+			work[k] = 0;
+
+			for (int p = Rp[k]; p < Rp[k + 1]; p++) {
+
+				int j = Rj[p];
+
+				double lkj = work[j] / Lx[Lp[j]];
+				work[j] = 0;
+
+				for (int q = Lp[j] + 1; q < next[j]; q++) {
+
+					work[Li[q]] -= Lx[q] * lkj;
+
+				}
+
+				diagonal -= lkj * lkj;
+				Lx[next[j]++] = lkj;
+
+			}
+
+			if (!(diagonal > 0)) {
+
+				throw new IllegalStateException("The matrix isn't positive "
+						+ "definite: pivot " + diagonal + " at row " + perm[k]);
+
+			}
+
+			Lx[Lp[k]] = Math.sqrt(diagonal);
+			next[k] = Lp[k] + 1;
+
+		}
+
+	}
+
+	/**
+	 * Solve.
+	 *
+	 * @desc this method factorizes the matrix and solves A x = b
+	 *
+	 * @param b
+	 *            the array of known terms
+	 * @param matrix
+	 *            the matrix in Row Compressed Form
+	 * @param x
+	 *            the array of the solution
+	 */
+	public void solve(double[] b, RCJacobian matrix, double[] x) {
+
+		factorize(matrix);
+
+		for (int k = 0; k < size; k++) {
+
+			work[k] = b[perm[k]];
+
+		}
+
+		// L y = P b
+		for (int j = 0; j < size; j++) {
+
+			work[j] /= Lx[Lp[j]];
+
+			for (int p = Lp[j] + 1; p < Lp[j + 1]; p++) {
+
+				work[Li[p]] -= Lx[p] * work[j];
+
+			}
+
+		}
+
+		// L' P x = y
+		for (int j = size - 1; j >= 0; j--) {
+
+			for (int p = Lp[j] + 1; p < Lp[j + 1]; p++) {
+
+				work[j] -= Lx[p] * work[Li[p]];
+
+			}
+
+			work[j] /= Lx[Lp[j]];
+
+		}
+
+		for (int k = 0; k < size; k++) {
+
+			x[perm[k]] = work[k];
+
+		}
+
+	}
+
+	public void setAbsoluteTolerance(double absoluteTolerance) {
+
+		// the solution is exact
+
+	}
+
+	/**
+	 * Gets the number of non-zero entries of L.
+	 *
+	 * @return the number of non-zero entries of L
+	 */
+	public int getFactorSize() {
+
+		return Lp[size];
+
+	}
+
+}
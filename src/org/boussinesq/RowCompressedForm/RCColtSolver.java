@@ -0,0 +1,168 @@
+package org.boussinesq.RowCompressedForm;
+
+import cern.colt.matrix.tdouble.algo.solver.AbstractDoubleIterativeSolver;
+import cern.colt.matrix.tdouble.algo.solver.DefaultDoubleIterationMonitor;
+import cern.colt.matrix.tdouble.algo.solver.DoubleBiCG;
+import cern.colt.matrix.tdouble.algo.solver.DoubleBiCGstab;
+import cern.colt.matrix.tdouble.algo.solver.DoubleCG;
+import cern.colt.matrix.tdouble.algo.solver.DoubleCGLS;
+import cern.colt.matrix.tdouble.algo.solver.DoubleCGS;
+import cern.colt.matrix.tdouble.algo.solver.DoubleGMRES;
+import cern.colt.matrix.tdouble.algo.solver.IterativeSolverDoubleNotConvergedException;
+import cern.colt.matrix.tdouble.algo.solver.preconditioner.DoubleDiagonal;
+import cern.colt.matrix.tdouble.algo.solver.preconditioner.DoubleICC;
+import cern.colt.matrix.tdouble.algo.solver.preconditioner.DoubleILU;
+import cern.colt.matrix.tdouble.algo.solver.preconditioner.DoubleILUT;
+import cern.colt.matrix.tdouble.algo.solver.preconditioner.DoubleIdentity;
+import cern.colt.matrix.tdouble.algo.solver.preconditioner.DoublePreconditioner;
+import cern.colt.matrix.tdouble.impl.DenseDoubleMatrix1D;
+import cern.colt.matrix.tdouble.impl.SparseRCDoubleMatrix2D;
+
+/**
+ * The Class RCColtSolver.
+ *
+ * @desc this class adapts the iterative solvers and the preconditioners of
+ *       Parallel Colt to RCLinearSolver. The Colt matrix and vectors are views
+ *       of the arrays of the Newton's method, so nothing is copied; Colt
+ *       allocates a few objects at every solution.
+ */
+public class RCColtSolver implements RCLinearSolver {
+
+	/** The names of the Krylov methods. */
+	public static final String[] METHODS = { "cg", "bicg", "bicgstab",
+			"cgs", "cgls", "gmres" };
+
+	/** The names of the preconditioners. */
+	public static final String[] PRECONDITIONERS = { "identity", "diagonal",
+			"icc", "ilu", "ilut" };
+
+	AbstractDoubleIterativeSolver solver;
+
+	DoublePreconditioner preconditioner;
+
+	/** The view of the matrix and the arrays it wraps. */
+	SparseRCDoubleMatrix2D matrix;
+	double[] matrixValues;
+
+	/** The views of the vectors and the arrays they wrap. */
+	DenseDoubleMatrix1D vectorB;
+	DenseDoubleMatrix1D vectorX;
+	double[] arrayB;
+	double[] arrayX;
+
+	/**
+	 * Instantiates a new Colt solver.
+	 *
+	 * @param method
+	 *            the name of the Krylov method, one of METHODS
+	 * @param preconditioner
+	 *            the name of the preconditioner, one of PRECONDITIONERS
+	 * @param size
+	 *            the number of rows of the matrix
+	 */
+	public RCColtSolver(String method, String preconditioner, int size) {
+
+		DenseDoubleMatrix1D template = new DenseDoubleMatrix1D(size);
+
+		if (method.equals("cg")) {
+
+			solver = new DoubleCG(template);
+
+		} else if (method.equals("bicg")) {
+
+			solver = new DoubleBiCG(template);
+
+		} else if (method.equals("bicgstab")) {
+
+			solver = new DoubleBiCGstab(template);
+
+		} else if (method.equals("cgs")) {
+
+			solver = new DoubleCGS(template);
+
+		} else if (method.equals("cgls")) {
+
+			solver = new DoubleCGLS();
+
+		} else if (method.equals("gmres")) {
+
+			solver = new DoubleGMRES(template);
+
+		} else {
+
+			throw new IllegalArgumentException("Unknown Colt solver: "
+					+ method);
+
+		}
+
+		if (preconditioner.equals("identity")) {
+
+			this.preconditioner = new DoubleIdentity();
+
+		} else if (preconditioner.equals("diagonal")) {
+
+			this.preconditioner = new DoubleDiagonal(size);
+
+		} else if (preconditioner.equals("icc")) {
+
+			this.preconditioner = new DoubleICC(size);
+
+		} else if (preconditioner.equals("ilu")) {
+
+			this.preconditioner = new DoubleILU(size);
+
+		} else if (preconditioner.equals("ilut")) {
+
+			this.preconditioner = new DoubleILUT(size);
+
+		} else {
+
+			throw new IllegalArgumentException("Unknown Colt preconditioner: "
+					+ preconditioner);
+
+		}
+
+		solver.setPreconditioner(this.preconditioner);
+
+	}
+
+	public void solve(double[] b, RCJacobian A, double[] x)
+			throws IterativeSolverDoubleNotConvergedException {
+
+		// the views are built again only if the arrays change
+		if (A.values != matrixValues) {
+
+			matrixValues = A.values;
+			matrix = new SparseRCDoubleMatrix2D(A.size, A.size, A.Mp, A.Mi,
+					A.values);
+
+		}
+
+		if (b != arrayB) {
+
+			arrayB = b;
+			vectorB = new DenseDoubleMatrix1D(b.length, b, 0, 1, true);
+
+		}
+
+		if (x != arrayX) {
+
+			arrayX = x;
+			vectorX = new DenseDoubleMatrix1D(x.length, x, 0, 1, true);
+
+		}
+
+		preconditioner.setMatrix(matrix);
+
+		solver.solve(matrix, vectorB, vectorX);
+
+	}
+
+	public void setAbsoluteTolerance(double absoluteTolerance) {
+
+		((DefaultDoubleIterationMonitor) solver.getIterationMonitor())
+				.setAbsoluteTolerance(absoluteTolerance);
+
+	}
+
+}
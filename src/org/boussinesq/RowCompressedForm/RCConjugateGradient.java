@@ -1,77 +1,321 @@
 package org.boussinesq.RowCompressedForm;
 
-import cern.colt.Arrays;
-import cern.colt.matrix.tdouble.DoubleMatrix1D;
-import cern.colt.matrix.tdouble.algo.solver.DoubleBiCG;
-import cern.colt.matrix.tdouble.algo.solver.DoubleCG;
-import cern.colt.matrix.tdouble.algo.solver.DoubleCGICCTest;
-import cern.colt.matrix.tdouble.algo.solver.DoubleCGLS;
-import cern.colt.matrix.tdouble.algo.solver.DoubleCGS;
+import cern.colt.matrix.tdouble.algo.solver.DefaultDoubleIterationMonitor;
+import cern.colt.matrix.tdouble.algo.solver.DoubleNotConvergedException;
 import cern.colt.matrix.tdouble.algo.solver.IterativeSolverDoubleNotConvergedException;
-import cern.colt.matrix.tdouble.algo.solver.preconditioner.DoubleDiagonal;
-import cern.colt.matrix.tdouble.algo.solver.preconditioner.DoubleICC;
-import cern.colt.matrix.tdouble.algo.solver.preconditioner.DoubleILU;
-import cern.colt.matrix.tdouble.algo.solver.preconditioner.DoubleILUT;
-import cern.colt.matrix.tdouble.algo.solver.preconditioner.DoublePreconditioner;
-import cern.colt.matrix.tdouble.impl.DenseDoubleMatrix1D;
-import cern.colt.matrix.tdouble.impl.SparseDoubleMatrix1D;
-import cern.colt.matrix.tdouble.impl.SparseRCDoubleMatrix2D;
 
 /**
  * The Class RCConjugateGradient.
+ * 
+ * @desc this class implements the preconditioned conjugate gradient for a
+ *       symmetric positive definite matrix in Row Compressed Form. It works
+ *       directly on the arrays of the matrix and of the vectors: the work
+ *       vectors are allocated once in the constructor, the product of the
+ *       matrix and the search direction is computed together with their dot
+ *       product, and the update of the solution is computed together with the
+ *       norm of the residual. The solution stops when the 2-norm of the
+ *       residual is less than the maximum between the absolute tolerance and
+ *       the relative tolerance times the norm of the initial residual.
  */
-public class RCConjugateGradient {
-
-	/** The matrix_x. */
-	DenseDoubleMatrix1D matrix_x;
-
-	/** The mat sol. */
-	public DoubleMatrix1D matSol;
-	
-	DoublePreconditioner dd;
-	
-	DoubleCG conjugateGradient;
-	
+public class RCConjugateGradient implements RCLinearSolver {
+
+	/** The default absolute tolerance. */
+	public static final double ABSOLUTETOLERANCE = 1e-50;
+
+	/** The default relative tolerance. */
+	public static final double RELATIVETOLERANCE = 1e-5;
+
+	/** The default max number of iterations. */
+	public static final int MAXITERATIONS = 100000;
+
+	/** The absolute tolerance on the 2-norm of the residual. */
+	public double absoluteTolerance = ABSOLUTETOLERANCE;
+
+	/** The tolerance on the 2-norm of the residual relative to the initial. */
+	public double relativeTolerance = RELATIVETOLERANCE;
+
+	/** The max number of iterations. */
+	public int maxIterations = MAXITERATIONS;
+
+	/** The preconditioner. */
+	public RCPreconditioner preconditioner;
+
+	/** The outcome of the last solution. */
+	public RCSolverResult result;
+
+	/** The number of iterations of all the solutions. */
+	public long totalIterations;
+
+	/** The array of the residual. */
+	double[] r;
+
+	/** The array of the preconditioned residual. */
+	double[] z;
+
+	/** The array of the search direction. */
+	double[] p;
+
+	/** The array of the product of the matrix and the search direction. */
+	double[] q;
+
 	/**
-	 * Instantiates a new rC conjugate gradient.
+	 * Instantiates a new rC conjugate gradient with the Jacobi preconditioner.
 	 * 
 	 * @param SIZE
 	 *            the size
-	 * @param Mp
-	 *            the mp
-	 * @param Mi
-	 *            the mi
-	 * @param Ml
-	 *            the ml
 	 */
 	public RCConjugateGradient(int SIZE) {
 
-		matrix_x = new DenseDoubleMatrix1D(SIZE);
-		matSol = new DenseDoubleMatrix1D(SIZE);
-		dd = new DoubleDiagonal(SIZE);
-		
-		conjugateGradient = new DoubleCG(matrix_x);
+		this(SIZE, new RCJacobiPreconditioner(SIZE));
+
+	}
+
+	/**
+	 * Instantiates a new rC conjugate gradient.
+	 * 
+	 * @param SIZE
+	 *            the size
+	 * @param preconditioner
+	 *            the preconditioner
+	 */
+	public RCConjugateGradient(int SIZE, RCPreconditioner preconditioner) {
+
+		this.preconditioner = preconditioner;
+
+		result = new RCSolverResult();
+
+		r = new double[SIZE];
+		z = new double[SIZE];
+		p = new double[SIZE];
+		q = new double[SIZE];
 
 	}
 
 	/**
 	 * Solver cg.
 	 * 
-	 * @param matrix_b
-	 *            the matrix_b
+	 * @desc this method solves A x = b. The array x is the initial guess and at
+	 *       the end it holds the solution.
+	 * 
+	 * @param b
+	 *            the array of known terms
+	 * @param A
+	 *            the matrix in Row Compressed Form
+	 * @param x
+	 *            the array of the solution
+	 * 
+	 * @return the outcome of the solution
 	 * @throws IterativeSolverDoubleNotConvergedException
-	 *             the iterative solver double not converged exception
+	 *             if the stopping criterion isn't met within the max number of
+	 *             iterations
 	 */
-	public void solverCG(DoubleMatrix1D matrix_b,
-			SparseRCDoubleMatrix2D matrix_A)
+	public RCSolverResult solverCG(double[] b, RCJacobian A, double[] x)
 			throws IterativeSolverDoubleNotConvergedException {
 
-		dd.setMatrix(matrix_A);
-		
-		conjugateGradient.setPreconditioner(dd);
-		
-		matSol = conjugateGradient.solve(matrix_A, matrix_b, matrix_x);
-		
+		preconditioner.setMatrix(A);
+
+		if (A.symmetric != null) {
+
+			A.symmetric.setDiagonal(A.values);
+
+		}
+
+		double initialResidualNorm = Math.sqrt(initialResidual(b, A, x));
+		double tolerance = Math.max(relativeTolerance * initialResidualNorm,
+				absoluteTolerance);
+
+		double residualNorm = initialResidualNorm;
+		double rho = 0;
+		double rhoOld = 0;
+		int iter = 0;
+
+		while (!(residualNorm <= tolerance)) {
+
+			if (iter >= maxIterations || Double.isNaN(residualNorm)) {
+
+				result.set(iter, initialResidualNorm, residualNorm, false);
+				totalIterations += iter;
+				throw notConverged(iter, residualNorm);
+
+			}
+
+			rho = preconditioner.apply(r, z);
+
+			if (iter == 0) {
+
+				System.arraycopy(z, 0, p, 0, z.length);
+
+			} else {
+
+				double beta = rho / rhoOld;
+
+				for (int i = 0; i < p.length; i++) {
+
+					p[i] = z[i] + beta * p[i];
+
+				}
+
+			}
+
+			double alpha = rho / multiply(A, p, q);
+
+			residualNorm = Math.sqrt(update(alpha, x));
+
+			rhoOld = rho;
+			iter++;
+
+		}
+
+		result.set(iter, initialResidualNorm, residualNorm, true);
+		totalIterations += iter;
+
+		return result;
+
+	}
+
+	public void solve(double[] b, RCJacobian A, double[] x)
+			throws IterativeSolverDoubleNotConvergedException {
+
+		solverCG(b, A, x);
+
+	}
+
+	public void setAbsoluteTolerance(double absoluteTolerance) {
+
+		this.absoluteTolerance = absoluteTolerance;
+
+	}
+
+	/**
+	 * Initial residual.
+	 * 
+	 * @desc this method computes r = b - A x
+	 * 
+	 * @return the square of the 2-norm of the residual
+	 */
+	double initialResidual(double[] b, RCJacobian A, double[] x) {
+
+		double rr = 0;
+
+		if (A.symmetric != null) {
+
+			A.symmetric.multiply(x, r);
+
+			for (int i = 0; i < A.size; i++) {
+
+				r[i] = b[i] - r[i];
+				rr += r[i] * r[i];
+
+			}
+
+			return rr;
+
+		}
+
+		for (int i = 0; i < A.size; i++) {
+
+			double ax = 0;
+
+			for (int k = A.Mp[i]; k < A.Mp[i + 1]; k++) {
+
+				ax += A.values[k] * x[A.Mi[k]];
+
+			}
+
+			r[i] = b[i] - ax;
+			rr += r[i] * r[i];
+
+		}
+
+		return rr;
+
+	}
+
+	/**
+	 * Multiply.
+	 * 
+	 * @desc this method computes q = A p, with the symmetric storage of A if
+	 *       it is enabled
+	 * 
+	 * @return the dot product of p and q
+	 */
+	double multiply(RCJacobian A, double[] p, double[] q) {
+
+		if (A.symmetric != null) {
+
+			return A.symmetric.multiply(p, q);
+
+		}
+
+		double pq = 0;
+
+		for (int i = 0; i < A.size; i++) {
+
+			double ap = 0;
+
+			for (int k = A.Mp[i]; k < A.Mp[i + 1]; k++) {
+
+				ap += A.values[k] * p[A.Mi[k]];
+
+			}
+
+			q[i] = ap;
+			pq += p[i] * ap;
+
+		}
+
+		return pq;
+
+	}
+
+	/**
+	 * Update.
+	 * 
+	 * @desc this method computes x = x + alpha p and r = r - alpha q
+	 * 
+	 * @return the square of the 2-norm of the new residual
+	 */
+	double update(double alpha, double[] x) {
+
+		double rr = 0;
+
+		for (int i = 0; i < r.length; i++) {
+
+			x[i] += alpha * p[i];
+			r[i] -= alpha * q[i];
+			rr += r[i] * r[i];
+
+		}
+
+		return rr;
+
+	}
+
+	/**
+	 * Not converged.
+	 * 
+	 * @desc this method builds the exception thrown by the Colt solvers, so the
+	 *       callers handle the failure of the conjugate gradient as before
+	 */
+	IterativeSolverDoubleNotConvergedException notConverged(
+			final int iterations, final double residualNorm) {
+
+		DefaultDoubleIterationMonitor monitor = new DefaultDoubleIterationMonitor(
+				maxIterations, relativeTolerance, absoluteTolerance, 1e5) {
+
+			{
+				iter = iterations;
+				residual = residualNorm;
+			}
+
+		};
+
+		DoubleNotConvergedException.Reason reason = Double
+				.isNaN(residualNorm) ? DoubleNotConvergedException.Reason.Breakdown
+				: DoubleNotConvergedException.Reason.Iterations;
+
+		return new IterativeSolverDoubleNotConvergedException(reason, monitor);
+
 	}
 
 	/**
@@ -88,15 +332,14 @@ public class RCConjugateGradient {
 		int[] Mi = { 0, 1, 0, 1 };
 		double[] Ml = { 4, 1, 1, 3 };
 
-		DenseDoubleMatrix1D matrix_b = new DenseDoubleMatrix1D(b);
-		SparseRCDoubleMatrix2D matrix_A = new SparseRCDoubleMatrix2D(b.length,
-				b.length, Mp, Mi, Ml);
-		// Mesh grid1 = new Mesh("Song");
+		RCJacobian matrix_A = new RCJacobian(b.length, Mp, Mi);
+		matrix_A.updateT(Ml);
+
+		double[] x = new double[b.length];
 		RCConjugateGradient cg = new RCConjugateGradient(b.length);
 
-		cg.solverCG(matrix_b, matrix_A);
-		
-		System.out.println(cg.matSol.get(0));
+		System.out.println(cg.solverCG(b, matrix_A, x));
+		System.out.println(x[0]);
 
 	}
 
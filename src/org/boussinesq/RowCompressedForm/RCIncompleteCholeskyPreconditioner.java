@@ -0,0 +1,212 @@
+package org.boussinesq.RowCompressedForm;
+
+/**
+ * The Class RCIncompleteCholeskyPreconditioner.
+ *
+ * @desc this class implements the zero fill-in incomplete Cholesky
+ *       preconditioner IC(0): M = L L', where L has the sparsity pattern of
+ *       the lower triangular part of the matrix. The Jacobian is a symmetric
+ *       M-matrix, so the factorization always exists. The pattern of the
+ *       Jacobian never changes, so the structure of L is computed once in the
+ *       constructor; at every solution only the values of L are computed
+ *       again.
+ */
+public class RCIncompleteCholeskyPreconditioner implements RCPreconditioner {
+
+	/** The number of rows of the matrix. */
+	int size;
+
+	/** The array that holds the number of entries of every row of L. */
+	int[] Lp;
+
+	/** The array of the column indices of the entries of L, sorted. */
+	int[] Li;
+
+	/** The array of the indices in the matrix of the entries of L. */
+	int[] Lmap;
+
+	/** The values of the strictly lower triangular part of L. */
+	double[] Lx;
+
+	/** The diagonal of L. */
+	double[] Ldiag;
+
+	/**
+	 * Instantiates a new IC(0) preconditioner.
+	 *
+	 * @desc the constructor computes the structure of L, i.e. the strictly
+	 *       lower triangular part of the pattern of the matrix, with the
+	 *       column indices of every row sorted
+	 *
+	 * @param size
+	 *            the number of rows of the matrix
+	 * @param Mp
+	 *            the array that holds the number of non-zero entries in
+	 *            adjacency matrix
+	 * @param Mi
+	 *            the array that holds the column indices of non-zero entries
+	 */
+	public RCIncompleteCholeskyPreconditioner(int size, int[] Mp, int[] Mi) {
+
+		this.size = size;
+
+		Lp = new int[size + 1];
+
+		for (int i = 0; i < size; i++) {
+
+			int count = 0;
+
+			for (int k = Mp[i]; k < Mp[i + 1]; k++) {
+
+				if (Mi[k] < i) {
+
+					count++;
+
+				}
+
+			}
+
+			Lp[i + 1] = Lp[i] + count;
+
+		}
+
+		Li = new int[Lp[size]];
+		Lmap = new int[Lp[size]];
+		Lx = new double[Lp[size]];
+		Ldiag = new double[size];
+
+		for (int i = 0; i < size; i++) {
+
+			int last = Lp[i];
+
+			for (int k = Mp[i]; k < Mp[i + 1]; k++) {
+
+				if (Mi[k] >= i) {
+
+					continue;
+
+				}
+
+				// insertion sort, the rows have only a few entries
+				int pos = last++;
+
+				while (pos > Lp[i] && Li[pos - 1] > Mi[k]) {
+
+					Li[pos] = Li[pos - 1];
+					Lmap[pos] = Lmap[pos - 1];
+					pos--;
+
+				}
+
+				Li[pos] = Mi[k];
+				Lmap[pos] = k;
+
+			}
+
+		}
+
+	}
+
+	/**
+	 * Sets the matrix.
+	 *
+	 * @desc this method computes the values of L row by row:
+	 *       L(i,j) = (A(i,j) - sum L(i,m) L(j,m)) / L(j,j) for j < i and
+	 *       L(i,i) = sqrt(A(i,i) - sum L(i,m)^2), where the sums run only on
+	 *       the entries in the pattern of both rows
+	 */
+	public void setMatrix(RCJacobian matrix) {
+
+		for (int i = 0; i < size; i++) {
+
+			double diagonal = matrix.values[matrix.indexDiag[i]];
+
+			for (int k = Lp[i]; k < Lp[i + 1]; k++) {
+
+				int j = Li[k];
+
+				// dot product of the rows i and j of L on the columns < j
+				double sum = 0;
+				int ki = Lp[i];
+				int kj = Lp[j];
+
+				while (ki < k && kj < Lp[j + 1]) {
+
+					if (Li[ki] == Li[kj]) {
+
+						sum += Lx[ki++] * Lx[kj++];
+
+					} else if (Li[ki] < Li[kj]) {
+
+						ki++;
+
+					} else {
+
+						kj++;
+
+					}
+
+				}
+
+				Lx[k] = (matrix.values[Lmap[k]] - sum) / Ldiag[j];
+				diagonal -= Lx[k] * Lx[k];
+
+			}
+
+			// the pivot of an M-matrix is positive, the check protects from
+			// round-off on nearly singular rows
+			if (diagonal <= 0) {
+
+				diagonal = matrix.values[matrix.indexDiag[i]];
+
+			}
+
+			Ldiag[i] = Math.sqrt(diagonal);
+
+		}
+
+	}
+
+	/**
+	 * Apply.
+	 *
+	 * @desc this method solves L y = r by forward substitution and L' z = y by
+	 *       backward substitution. L' is visited by rows of L, so z is
+	 *       overwritten in place.
+	 */
+	public double apply(double[] r, double[] z) {
+
+		for (int i = 0; i < size; i++) {
+
+			double sum = r[i];
+
+			for (int k = Lp[i]; k < Lp[i + 1]; k++) {
+
+				sum -= Lx[k] * z[Li[k]];
+
+			}
+
+			z[i] = sum / Ldiag[i];
+
+		}
+
+		double rz = 0;
+
+		for (int i = size - 1; i >= 0; i--) {
+
+			z[i] = z[i] / Ldiag[i];
+			rz += r[i] * z[i];
+
+			for (int k = Lp[i]; k < Lp[i + 1]; k++) {
+
+				z[Li[k]] -= Lx[k] * z[i];
+
+			}
+
+		}
+
+		return rz;
+
+	}
+
+}
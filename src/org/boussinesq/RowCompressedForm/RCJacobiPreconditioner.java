@@ -0,0 +1,52 @@
+package org.boussinesq.RowCompressedForm;
+
+/**
+ * The Class RCJacobiPreconditioner.
+ *
+ * @desc this class implements the diagonal (Jacobi) preconditioner: M is the
+ *       diagonal of the matrix. The inverse of the diagonal entries is stored,
+ *       so the preconditioner is applied with a multiplication.
+ */
+public class RCJacobiPreconditioner implements RCPreconditioner {
+
+	/** The array of the inverse of the diagonal entries. */
+	double[] invDiag;
+
+	/**
+	 * Instantiates a new Jacobi preconditioner.
+	 *
+	 * @param size
+	 *            the number of rows of the matrix
+	 */
+	public RCJacobiPreconditioner(int size) {
+
+		invDiag = new double[size];
+
+	}
+
+	public void setMatrix(RCJacobian matrix) {
+
+		for (int i = 0; i < matrix.size; i++) {
+
+			invDiag[i] = 1 / matrix.values[matrix.indexDiag[i]];
+
+		}
+
+	}
+
+	public double apply(double[] r, double[] z) {
+
+		double rz = 0;
+
+		for (int i = 0; i < invDiag.length; i++) {
+
+			z[i] = r[i] * invDiag[i];
+			rz += r[i] * z[i];
+
+		}
+
+		return rz;
+
+	}
+
+}
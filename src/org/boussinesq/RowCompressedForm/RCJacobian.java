@@ -0,0 +1,100 @@
+package org.boussinesq.RowCompressedForm;
+
+/**
+ * The Class RCJacobian.
+ *
+ * @desc this class holds the Jacobian matrix of the Newton's method in Row
+ *       Compressed Form. The sparsity pattern of the Jacobian is the one of
+ *       the adjacency matrix and it never changes, so the matrix is built
+ *       once per simulation and its values are rewritten in place: the
+ *       entries of T change only once per time step, while at every Newton
+ *       iteration only the diagonal entries change (equation (A6) of
+ *       [Cordano & Rigon, 2012]). The conjugate gradient reads the arrays of
+ *       the matrix directly, so nothing is rebuilt.
+ */
+public class RCJacobian {
+
+	/** The number of rows of the matrix. */
+	public int size;
+
+	/** The array that holds the number of non-zero entries of every row. */
+	public int[] Mp;
+
+	/** The array that holds the column indices of non-zero entries. */
+	public int[] Mi;
+
+	/** The array of the indices of the diagonal entries. */
+	public int[] indexDiag;
+
+	/** The values of the matrix in Row Compressed Form. */
+	public double[] values;
+
+	/**
+	 * The copy of the matrix with the symmetric storage, null if it isn't
+	 * used (see enableSymmetricStorage).
+	 */
+	public RCSymmetricMatrix symmetric;
+
+	/**
+	 * Instantiates a new Jacobian matrix.
+	 *
+	 * @param size
+	 *            the number of rows of the matrix
+	 * @param Mp
+	 *            the array that holds the number of non-zero entries in
+	 *            adjacency matrix
+	 * @param Mi
+	 *            the array that holds the column indices of non-zero entries
+	 */
+	public RCJacobian(int size, int[] Mp, int[] Mi) {
+
+		this.size = size;
+		this.Mp = Mp;
+		this.Mi = Mi;
+
+		indexDiag = new RCIndexDiagonalElement().computeIndexDiag(size, Mp,
+				Mi);
+
+		values = new double[Mi.length];
+
+	}
+
+	/**
+	 * Update T.
+	 *
+	 * @desc this method copies the array of T into the Jacobian. It must be
+	 *       called only when T changes, i.e. once per time step; the diagonal
+	 *       entries are then rewritten at every Newton iteration.
+	 *
+	 * @param arrT
+	 *            the array of T in Row Compressed Form
+	 */
+	public void updateT(double[] arrT) {
+
+		System.arraycopy(arrT, 0, values, 0, values.length);
+
+		if (symmetric != null) {
+
+			symmetric.setValues(values);
+
+		}
+
+	}
+
+	/**
+	 * Enable symmetric storage.
+	 *
+	 * @desc this method builds the copy of the matrix with the symmetric
+	 *       storage: the off-diagonal entries are copied by updateT, the
+	 *       diagonal ones by the conjugate gradient at every solution, and
+	 *       the products of the conjugate gradient and of the residual
+	 *       function read only the upper part.
+	 */
+	public void enableSymmetricStorage() {
+
+		symmetric = new RCSymmetricMatrix(size, Mp, Mi);
+		symmetric.setValues(values);
+
+	}
+
+}
@@ -0,0 +1,46 @@
+package org.boussinesq.RowCompressedForm;
+
+import cern.colt.matrix.tdouble.algo.solver.IterativeSolverDoubleNotConvergedException;
+
+/**
+ * The Interface RCLinearSolver.
+ *
+ * @desc this interface is implemented by the solvers of the linear system of
+ *       the Newton's method: the iterative solvers with their preconditioner
+ *       and the direct solver. They are created by RCLinearSolverFactory from
+ *       their name.
+ */
+public interface RCLinearSolver {
+
+	/**
+	 * Solve.
+	 *
+	 * @desc this method solves A x = b. The array x is the initial guess of
+	 *       the iterative solvers and at the end it holds the solution.
+	 *
+	 * @param b
+	 *            the array of known terms
+	 * @param A
+	 *            the matrix in Row Compressed Form
+	 * @param x
+	 *            the array of the solution
+	 * @throws IterativeSolverDoubleNotConvergedException
+	 *             if an iterative solver doesn't converge
+	 */
+	void solve(double[] b, RCJacobian A, double[] x)
+			throws IterativeSolverDoubleNotConvergedException;
+
+	/**
+	 * Sets the absolute tolerance.
+	 *
+	 * @desc the iterative solvers stop when the 2-norm of the residual is less
+	 *       than the absolute tolerance, or than their relative tolerance
+	 *       times the norm of the initial residual; the direct solver ignores
+	 *       it
+	 *
+	 * @param absoluteTolerance
+	 *            the absolute tolerance on the 2-norm of the residual
+	 */
+	void setAbsoluteTolerance(double absoluteTolerance);
+
+}
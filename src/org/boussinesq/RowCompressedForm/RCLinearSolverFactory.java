@@ -0,0 +1,95 @@
+package org.boussinesq.RowCompressedForm;
+
+/**
+ * The Class RCLinearSolverFactory.
+ *
+ * @desc this class creates the solver of the linear system of the Newton's
+ *       method from its name:
+ *       <ul>
+ *       <li>"cg": the native conjugate gradient with the preconditioner chosen
+ *       by the size of the mesh, IC(0) or AMG;</li>
+ *       <li>"cg-jacobi", "cg-ic0", "cg-amg": the native conjugate gradient
+ *       with the given preconditioner;</li>
+ *       <li>"cholesky": the sparse Cholesky factorization;</li>
+ *       <li>"colt-method-preconditioner": a solver of Parallel Colt, e.g.
+ *       "colt-bicgstab-ilu", see RCColtSolver;</li>
+ *       <li>"auto": the fastest of CANDIDATES on the first linear system of
+ *       the simulation, see RCAutoLinearSolver.</li>
+ *       </ul>
+ */
+public class RCLinearSolverFactory {
+
+	/** The solvers compared by the auto mode. */
+	public static final String[] CANDIDATES = { "cg-jacobi", "cg-ic0",
+			"cg-amg", "cholesky", "colt-cg-diagonal", "colt-cg-icc",
+			"colt-bicgstab-ilu", "colt-cgs-ilu" };
+
+	/** The max number of cells for which the auto mode tries the Cholesky. */
+	public static final int CHOLESKYMAXSIZE = 100000;
+
+	/**
+	 * Create linear solver.
+	 *
+	 * @param name
+	 *            the name of the solver
+	 * @param size
+	 *            the number of rows of the matrix
+	 * @param Mp
+	 *            the array that holds the number of non-zero entries in
+	 *            adjacency matrix
+	 * @param Mi
+	 *            the array that holds the column indices of non-zero entries
+	 *
+	 * @return the linear solver
+	 * @throws IllegalArgumentException
+	 *             if the name is unknown
+	 */
+	public RCLinearSolver createLinearSolver(String name, int size, int[] Mp,
+			int[] Mi) {
+
+		if (name.equals("cg")) {
+
+			return createLinearSolver(
+					size < RCAlgebraicMultigridPreconditioner.MINSIZE ? "cg-ic0"
+							: "cg-amg", size, Mp, Mi);
+
+		} else if (name.equals("cg-jacobi")) {
+
+			return new RCConjugateGradient(size, new RCJacobiPreconditioner(
+					size));
+
+		} else if (name.equals("cg-ic0")) {
+
+			return new RCConjugateGradient(size,
+					new RCIncompleteCholeskyPreconditioner(size, Mp, Mi));
+
+		} else if (name.equals("cg-amg")) {
+
+			return new RCConjugateGradient(size,
+					new RCAlgebraicMultigridPreconditioner(size, Mp, Mi));
+
+		} else if (name.equals("cholesky")) {
+
+			return new RCCholeskySolver(size, Mp, Mi);
+
+		} else if (name.equals("auto")) {
+
+			return new RCAutoLinearSolver(size, Mp, Mi);
+
+		} else if (name.startsWith("colt-")) {
+
+			String[] parts = name.split("-");
+
+			if (parts.length == 3) {
+
+				return new RCColtSolver(parts[1], parts[2], size);
+
+			}
+
+		}
+
+		throw new IllegalArgumentException("Unknown linear solver: " + name);
+
+	}
+
+}
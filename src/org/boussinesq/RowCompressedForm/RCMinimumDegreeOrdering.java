@@ -0,0 +1,167 @@
+package org.boussinesq.RowCompressedForm;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+/**
+ * The Class RCMinimumDegreeOrdering.
+ *
+ * @desc this class computes a fill-reducing ordering of a symmetric matrix
+ *       with the minimum degree algorithm: at every step the node with the
+ *       fewest neighbours is eliminated and its neighbours become a clique,
+ *       as they do in the Cholesky factor. The elimination graph is stored
+ *       explicitly, so the ordering is meant to be computed once per
+ *       simulation, when the pattern of the matrix is known.
+ */
+public class RCMinimumDegreeOrdering {
+
+	/**
+	 * Compute ordering.
+	 *
+	 * @param size
+	 *            the number of rows of the matrix
+	 * @param Mp
+	 *            the array that holds the number of non-zero entries in
+	 *            adjacency matrix
+	 * @param Mi
+	 *            the array that holds the column indices of non-zero entries
+	 *
+	 * @return the array of the permutation: the k-th eliminated row is
+	 *         perm[k]
+	 */
+	public int[] computeOrdering(int size, int[] Mp, int[] Mi) {
+
+		int[][] adjacency = new int[size][];
+
+		for (int i = 0; i < size; i++) {
+
+			int[] neighbours = new int[Mp[i + 1] - Mp[i]];
+			int count = 0;
+
+			for (int k = Mp[i]; k < Mp[i + 1]; k++) {
+
+				if (Mi[k] != i) {
+
+					neighbours[count++] = Mi[k];
+
+				}
+
+			}
+
+			adjacency[i] = sortedUnique(neighbours, count);
+
+		}
+
+		// the queue holds degree and node in a long, so the ties are broken by
+		// the node index; the entries of a node whose degree changed are stale
+		PriorityQueue<Long> queue = new PriorityQueue<Long>();
+
+		for (int i = 0; i < size; i++) {
+
+			queue.add(key(adjacency[i].length, i));
+
+		}
+
+		boolean[] eliminated = new boolean[size];
+		int[] perm = new int[size];
+		int[] merged = new int[size];
+
+		for (int k = 0; k < size; k++) {
+
+			int v;
+
+			while (true) {
+
+				long top = queue.poll();
+				v = (int) top;
+
+				if (!eliminated[v] && adjacency[v].length == (int) (top >>> 32)) {
+
+					break;
+
+				}
+
+			}
+
+			perm[k] = v;
+			eliminated[v] = true;
+
+			int[] clique = adjacency[v];
+
+			for (int u : clique) {
+
+				// adj(u) = adj(u) + adj(v) - {u, v}
+				int[] old = adjacency[u];
+				int a = 0;
+				int b = 0;
+				int count = 0;
+
+				while (a < old.length || b < clique.length) {
+
+					int next;
+
+					if (b == clique.length
+							|| (a < old.length && old[a] < clique[b])) {
+
+						next = old[a++];
+
+					} else if (a == old.length || clique[b] < old[a]) {
+
+						next = clique[b++];
+
+					} else {
+
+						next = old[a++];
+						b++;
+
+					}
+
+					if (next != u && next != v) {
+
+						merged[count++] = next;
+
+					}
+
+				}
+
+				adjacency[u] = Arrays.copyOf(merged, count);
+
+				queue.add(key(count, u));
+
+			}
+
+			adjacency[v] = null;
+
+		}
+
+		return perm;
+
+	}
+
+	long key(int degree, int node) {
+
+		return ((long) degree << 32) | node;
+
+	}
+
+	int[] sortedUnique(int[] values, int count) {
+
+		Arrays.sort(values, 0, count);
+
+		int unique = 0;
+
+		for (int k = 0; k < count; k++) {
+
+			if (unique == 0 || values[k] != values[unique - 1]) {
+
+				values[unique++] = values[k];
+
+			}
+
+		}
+
+		return Arrays.copyOf(values, unique);
+
+	}
+
+}
@@ -0,0 +1,39 @@
+package org.boussinesq.RowCompressedForm;
+
+/**
+ * The Interface RCPreconditioner.
+ *
+ * @desc this interface is implemented by the preconditioners of the conjugate
+ *       gradient. The preconditioner reads the matrix in Row Compressed Form
+ *       when the matrix changes, and then it is applied once per iteration of
+ *       the conjugate gradient.
+ */
+public interface RCPreconditioner {
+
+	/**
+	 * Sets the matrix.
+	 *
+	 * @desc this method is called every time the values of the matrix change,
+	 *       before the linear system is solved
+	 *
+	 * @param matrix
+	 *            the matrix in Row Compressed Form
+	 */
+	void setMatrix(RCJacobian matrix);
+
+	/**
+	 * Apply.
+	 *
+	 * @desc this method solves M z = r, where M is the preconditioner, and
+	 *       computes the dot product of r and z in the same loop
+	 *
+	 * @param r
+	 *            the array of the residual
+	 * @param z
+	 *            the array where the preconditioned residual is written
+	 *
+	 * @return the dot product of r and z
+	 */
+	double apply(double[] r, double[] z);
+
+}
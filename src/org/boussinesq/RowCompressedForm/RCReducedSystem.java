@@ -0,0 +1,197 @@
+package org.boussinesq.RowCompressedForm;
+
+import java.util.Arrays;
+
+/**
+ * The Class RCReducedSystem.
+ *
+ * @desc this class holds the linear system restricted to a subset of the
+ *       rows of a matrix in Row Compressed Form: the rows and the columns
+ *       that are not kept are removed, so the linear solver works on a
+ *       smaller matrix. The removed unknowns must be decoupled from the kept
+ *       ones (null entries in the kept rows and columns), and their solution
+ *       is zero. The pattern is built once; the values are copied from the
+ *       full matrix when they change and the known terms and the solution are
+ *       gathered and scattered at every solution.
+ */
+public class RCReducedSystem {
+
+	/** The rows of the full matrix that are kept, in increasing order. */
+	public int[] rows;
+
+	/** The matrix of the reduced system. */
+	public RCJacobian matrix;
+
+	/** The array of known terms of the reduced system. */
+	public double[] b;
+
+	/** The array of the solution of the reduced system. */
+	public double[] x;
+
+	/** The indices in the full matrix of the entries of the reduced one. */
+	int[] entryMap;
+
+	/**
+	 * Instantiates a new reduced system.
+	 *
+	 * @param size
+	 *            the number of rows of the full matrix
+	 * @param Mp
+	 *            the array that holds the number of non-zero entries in
+	 *            adjacency matrix
+	 * @param Mi
+	 *            the array that holds the column indices of non-zero entries
+	 * @param rows
+	 *            the rows that are kept, in increasing order
+	 * @param symmetric
+	 *            true if the reduced matrix has the symmetric storage too
+	 */
+	public RCReducedSystem(int size, int[] Mp, int[] Mi, int[] rows,
+			boolean symmetric) {
+
+		this.rows = rows;
+
+		int[] reducedIndex = new int[size];
+		Arrays.fill(reducedIndex, -1);
+
+		for (int k = 0; k < rows.length; k++) {
+
+			reducedIndex[rows[k]] = k;
+
+		}
+
+		int[] reducedMp = new int[rows.length + 1];
+
+		for (int k = 0; k < rows.length; k++) {
+
+			reducedMp[k + 1] = reducedMp[k];
+
+			for (int j = Mp[rows[k]]; j < Mp[rows[k] + 1]; j++) {
+
+				if (reducedIndex[Mi[j]] >= 0) {
+
+					reducedMp[k + 1]++;
+
+				}
+
+			}
+
+		}
+
+		// the rows are in increasing order, so the columns stay sorted
+		int[] reducedMi = new int[reducedMp[rows.length]];
+		entryMap = new int[reducedMi.length];
+
+		for (int k = 0, last = 0; k < rows.length; k++) {
+
+			for (int j = Mp[rows[k]]; j < Mp[rows[k] + 1]; j++) {
+
+				if (reducedIndex[Mi[j]] >= 0) {
+
+					reducedMi[last] = reducedIndex[Mi[j]];
+					entryMap[last] = j;
+					last++;
+
+				}
+
+			}
+
+		}
+
+		matrix = new RCJacobian(rows.length, reducedMp, reducedMi);
+
+		if (symmetric) {
+
+			matrix.enableSymmetricStorage();
+
+		}
+
+		b = new double[rows.length];
+		x = new double[rows.length];
+
+	}
+
+	/**
+	 * Update values.
+	 *
+	 * @desc this method copies all the values of the kept entries of the full
+	 *       matrix, when its off-diagonal entries change
+	 *
+	 * @param full
+	 *            the full matrix
+	 */
+	public void updateValues(RCJacobian full) {
+
+		for (int k = 0; k < entryMap.length; k++) {
+
+			matrix.values[k] = full.values[entryMap[k]];
+
+		}
+
+		if (matrix.symmetric != null) {
+
+			matrix.symmetric.setValues(matrix.values);
+
+		}
+
+	}
+
+	/**
+	 * Update diagonal.
+	 *
+	 * @desc this method copies only the diagonal entries of the kept rows, the
+	 *       ones that change at every Newton iteration
+	 *
+	 * @param full
+	 *            the full matrix
+	 */
+	public void updateDiagonal(RCJacobian full) {
+
+		int[] indexDiag = matrix.indexDiag;
+
+		for (int k = 0; k < rows.length; k++) {
+
+			matrix.values[indexDiag[k]] = full.values[full.indexDiag[rows[k]]];
+
+		}
+
+	}
+
+	/**
+	 * Restrict.
+	 *
+	 * @desc this method gathers the known terms of the kept rows into b
+	 *
+	 * @param fullB
+	 *            the array of known terms of the full system
+	 */
+	public void restrict(double[] fullB) {
+
+		for (int k = 0; k < rows.length; k++) {
+
+			b[k] = fullB[rows[k]];
+
+		}
+
+	}
+
+	/**
+	 * Prolong.
+	 *
+	 * @desc this method scatters the solution of the kept rows into the
+	 *       solution of the full system; the other entries are not written
+	 *
+	 * @param fullX
+	 *            the array of the solution of the full system
+	 */
+	public void prolong(double[] fullX) {
+
+		for (int k = 0; k < rows.length; k++) {
+
+			fullX[rows[k]] = x[k];
+
+		}
+
+	}
+
+}
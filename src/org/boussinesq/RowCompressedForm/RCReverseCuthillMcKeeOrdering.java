@@ -0,0 +1,251 @@
+package org.boussinesq.RowCompressedForm;
+
+/**
+ * The Class RCReverseCuthillMcKeeOrdering.
+ *
+ * @desc this class computes a bandwidth-reducing ordering of a symmetric
+ *       matrix with the reverse Cuthill-McKee algorithm: every connected
+ *       component is visited breadth-first from a pseudo-peripheral node, the
+ *       neighbours of a node in order of increasing degree, and the visit
+ *       order is reversed. Neighbouring rows get close indices, so the
+ *       products of the matrix and a vector read the vector with better
+ *       locality.
+ */
+public class RCReverseCuthillMcKeeOrdering {
+
+	/**
+	 * Compute ordering.
+	 *
+	 * @param size
+	 *            the number of rows of the matrix
+	 * @param Mp
+	 *            the array that holds the number of non-zero entries in
+	 *            adjacency matrix
+	 * @param Mi
+	 *            the array that holds the column indices of non-zero entries
+	 *
+	 * @return the array of the permutation: the k-th row of the reordered
+	 *         matrix is the row perm[k]
+	 */
+	public int[] computeOrdering(int size, int[] Mp, int[] Mi) {
+
+		int[] degree = new int[size];
+
+		for (int i = 0; i < size; i++) {
+
+			for (int k = Mp[i]; k < Mp[i + 1]; k++) {
+
+				if (Mi[k] != i) {
+
+					degree[i]++;
+
+				}
+
+			}
+
+		}
+
+		int[] order = new int[size];
+		int[] level = new int[size];
+		int[] queue = new int[size];
+		boolean[] visited = new boolean[size];
+		int visitedNumber = 0;
+
+		for (int start = 0; start < size; start++) {
+
+			if (visited[start]) {
+
+				continue;
+
+			}
+
+			int root = findPseudoPeripheralNode(start, Mp, Mi, degree, level,
+					queue);
+
+			visitedNumber = visit(root, Mp, Mi, degree, visited, order,
+					visitedNumber);
+
+		}
+
+		int[] perm = new int[size];
+
+		for (int k = 0; k < size; k++) {
+
+			perm[k] = order[size - 1 - k];
+
+		}
+
+		return perm;
+
+	}
+
+	/**
+	 * Visit.
+	 *
+	 * @desc this method visits breadth-first the component of the root and
+	 *       appends its nodes to order, the neighbours of every node sorted by
+	 *       increasing degree
+	 *
+	 * @return the number of visited nodes
+	 */
+	int visit(int root, int[] Mp, int[] Mi, int[] degree, boolean[] visited,
+			int[] order, int visitedNumber) {
+
+		int head = visitedNumber;
+		int tail = visitedNumber;
+
+		order[tail++] = root;
+		visited[root] = true;
+
+		while (head < tail) {
+
+			int node = order[head++];
+			int first = tail;
+
+			for (int k = Mp[node]; k < Mp[node + 1]; k++) {
+
+				int neighbour = Mi[k];
+
+				if (!visited[neighbour]) {
+
+					visited[neighbour] = true;
+					order[tail++] = neighbour;
+
+				}
+
+			}
+
+			// insertion sort: a node has a few neighbours
+			for (int p = first + 1; p < tail; p++) {
+
+				int neighbour = order[p];
+				int q = p - 1;
+
+				while (q >= first && degree[order[q]] > degree[neighbour]) {
+
+					order[q + 1] = order[q];
+					q--;
+
+				}
+
+				order[q + 1] = neighbour;
+
+			}
+
+		}
+
+		return tail;
+
+	}
+
+	/**
+	 * Find pseudo peripheral node.
+	 *
+	 * @desc this method starts from a node of the component and moves to the
+	 *       node of the last level, with the min degree, of its level
+	 *       structure while the number of levels grows [George & Liu, 1979]
+	 *
+	 * @param level
+	 *            the work array of the levels, with null entries
+	 * @param queue
+	 *            the work array of the visit
+	 *
+	 * @return the pseudo-peripheral node
+	 */
+	int findPseudoPeripheralNode(int start, int[] Mp, int[] Mi, int[] degree,
+			int[] level, int[] queue) {
+
+		int root = start;
+		int eccentricity = 0;
+
+		while (true) {
+
+			int tail = computeLevels(root, Mp, Mi, level, queue);
+			int depth = level[queue[tail - 1]];
+
+			if (depth <= eccentricity) {
+
+				clearLevels(level, queue, tail);
+				return root;
+
+			}
+
+			// the node of the last level with the min degree
+			int chosen = queue[tail - 1];
+
+			for (int p = tail - 1; p >= 0 && level[queue[p]] == depth; p--) {
+
+				if (degree[queue[p]] < degree[chosen]) {
+
+					chosen = queue[p];
+
+				}
+
+			}
+
+			clearLevels(level, queue, tail);
+
+			eccentricity = depth;
+			root = chosen;
+
+		}
+
+	}
+
+	/**
+	 * Compute levels.
+	 *
+	 * @desc this method computes the level structure rooted at the node: the
+	 *       nodes of the component are written into queue in order of
+	 *       increasing level, starting from 1
+	 *
+	 * @return the number of nodes of the component
+	 */
+	int computeLevels(int root, int[] Mp, int[] Mi, int[] level, int[] queue) {
+
+		int head = 0;
+		int tail = 0;
+
+		level[root] = 1;
+		queue[tail++] = root;
+
+		while (head < tail) {
+
+			int node = queue[head++];
+
+			for (int k = Mp[node]; k < Mp[node + 1]; k++) {
+
+				int neighbour = Mi[k];
+
+				if (level[neighbour] == 0) {
+
+					level[neighbour] = level[node] + 1;
+					queue[tail++] = neighbour;
+
+				}
+
+			}
+
+		}
+
+		return tail;
+
+	}
+
+	/**
+	 * Clear levels.
+	 *
+	 * @desc this method sets to zero the levels of the visited nodes, for the
+	 *       next level structure
+	 */
+	void clearLevels(int[] level, int[] queue, int tail) {
+
+		for (int p = 0; p < tail; p++) {
+
+			level[queue[p]] = 0;
+
+		}
+
+	}
+
+}
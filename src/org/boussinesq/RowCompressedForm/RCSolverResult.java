@@ -0,0 +1,55 @@
+package org.boussinesq.RowCompressedForm;
+
+/**
+ * The Class RCSolverResult.
+ *
+ * @desc this class holds the outcome of the last solution of a linear system:
+ *       the number of iterations and the 2-norm of the final residual. The
+ *       object is owned by the solver and rewritten at every solution, so it
+ *       must be read before the next one.
+ */
+public class RCSolverResult {
+
+	/** The number of iterations of the last solution. */
+	public int iterations;
+
+	/** The 2-norm of the residual at the end of the last solution. */
+	public double residualNorm;
+
+	/** The 2-norm of the residual at the beginning of the last solution. */
+	public double initialResidualNorm;
+
+	/** The flag that tells if the stopping criterion was met. */
+	public boolean converged;
+
+	/**
+	 * Set.
+	 *
+	 * @param iterations
+	 *            the number of iterations
+	 * @param initialResidualNorm
+	 *            the 2-norm of the initial residual
+	 * @param residualNorm
+	 *            the 2-norm of the final residual
+	 * @param converged
+	 *            the flag that tells if the stopping criterion was met
+	 */
+	void set(int iterations, double initialResidualNorm, double residualNorm,
+			boolean converged) {
+
+		this.iterations = iterations;
+		this.initialResidualNorm = initialResidualNorm;
+		this.residualNorm = residualNorm;
+		this.converged = converged;
+
+	}
+
+	@Override
+	public String toString() {
+
+		return "iterations " + iterations + ", residual " + residualNorm
+				+ " (initial " + initialResidualNorm + ")";
+
+	}
+
+}
@@ -0,0 +1,185 @@
+package org.boussinesq.RowCompressedForm;
+
+import java.util.Arrays;
+
+/**
+ * The Class RCSymmetricMatrix.
+ *
+ * @desc this class holds a symmetric matrix in Row Compressed Form storing
+ *       only the diagonal and the strictly upper triangular part: the entry
+ *       (i, j), with i < j, is used for (j, i) too. T and the Jacobian are
+ *       symmetric, so the product of the matrix and a vector reads half of
+ *       the values and of the column indices of the full Row Compressed
+ *       Form. The pattern is built once from the full one, and the values are
+ *       copied from the full matrix when they change.
+ */
+public class RCSymmetricMatrix {
+
+	/** The number of rows of the matrix. */
+	public int size;
+
+	/** The array of the beginning of every row of the upper part. */
+	public int[] Up;
+
+	/** The array of the column indices of the upper part. */
+	public int[] Ui;
+
+	/** The values of the upper part. */
+	public double[] upper;
+
+	/** The values of the diagonal. */
+	public double[] diagonal;
+
+	/** The indices in the full matrix of the entries of the upper part. */
+	int[] upperMap;
+
+	/** The indices in the full matrix of the diagonal entries. */
+	int[] indexDiag;
+
+	/**
+	 * Instantiates a new symmetric matrix.
+	 *
+	 * @param size
+	 *            the number of rows of the matrix
+	 * @param Mp
+	 *            the array that holds the number of non-zero entries in
+	 *            adjacency matrix
+	 * @param Mi
+	 *            the array that holds the column indices of non-zero entries
+	 */
+	public RCSymmetricMatrix(int size, int[] Mp, int[] Mi) {
+
+		this.size = size;
+
+		indexDiag = new RCIndexDiagonalElement().computeIndexDiag(size, Mp,
+				Mi);
+
+		Up = new int[size + 1];
+
+		for (int i = 0; i < size; i++) {
+
+			Up[i + 1] = Up[i];
+
+			for (int k = Mp[i]; k < Mp[i + 1]; k++) {
+
+				if (Mi[k] > i) {
+
+					Up[i + 1]++;
+
+				}
+
+			}
+
+		}
+
+		Ui = new int[Up[size]];
+		upperMap = new int[Up[size]];
+
+		for (int i = 0, last = 0; i < size; i++) {
+
+			for (int k = Mp[i]; k < Mp[i + 1]; k++) {
+
+				if (Mi[k] > i) {
+
+					Ui[last] = Mi[k];
+					upperMap[last] = k;
+					last++;
+
+				}
+
+			}
+
+		}
+
+		upper = new double[Up[size]];
+		diagonal = new double[size];
+
+	}
+
+	/**
+	 * Sets the values.
+	 *
+	 * @param values
+	 *            the values of the full matrix in Row Compressed Form
+	 */
+	public void setValues(double[] values) {
+
+		for (int k = 0; k < upper.length; k++) {
+
+			upper[k] = values[upperMap[k]];
+
+		}
+
+		setDiagonal(values);
+
+	}
+
+	/**
+	 * Sets the diagonal.
+	 *
+	 * @desc this method copies only the diagonal entries, the ones that change
+	 *       at every Newton iteration
+	 *
+	 * @param values
+	 *            the values of the full matrix in Row Compressed Form
+	 */
+	public void setDiagonal(double[] values) {
+
+		for (int i = 0; i < size; i++) {
+
+			diagonal[i] = values[indexDiag[i]];
+
+		}
+
+	}
+
+	/**
+	 * Multiply.
+	 *
+	 * @desc this method computes y = A x. The row i adds its upper entries to
+	 *       y[i] and scatters them into the rows below, so y[i] is complete
+	 *       when the row i is reached.
+	 *
+	 * @return the dot product of x and y
+	 */
+	public double multiply(double[] x, double[] y) {
+
+		Arrays.fill(y, 0, size, 0);
+
+		double xy = 0;
+
+		for (int i = 0; i < size; i++) {
+
+			double xi = x[i];
+			double yi = y[i] + diagonal[i] * xi;
+
+			for (int k = Up[i]; k < Up[i + 1]; k++) {
+
+				int j = Ui[k];
+
+				yi += upper[k] * x[j];
+				y[j] += upper[k] * xi;
+
+			}
+
+			y[i] = yi;
+			xy += xi * yi;
+
+		}
+
+		return xy;
+
+	}
+
+	/**
+	 * Gets the number of stored entries.
+	 *
+	 * @return the number of entries of the diagonal and of the upper part
+	 */
+	public int getStoredEntries() {
+
+		return size + upper.length;
+
+	}
+
+}
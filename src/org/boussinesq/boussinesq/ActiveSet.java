@@ -0,0 +1,232 @@
+package org.boussinesq.boussinesq;
+
+import java.util.Arrays;
+
+import org.boussinesq.RowCompressedForm.RCIndexDiagonalElement;
+import org.boussinesq.boussinesq.computationalDomain.SubDomain;
+import org.meshNumericalMethods.unstructuredMesh.adjacencyMatrixBased.AbstractRCAdjacencyMatrixBased;
+
+/**
+ * The Class ActiveSet.
+ *
+ * @desc this class holds the cells where the water table can change during a
+ *       time step: the wet cells, the cells with a source, and the cells
+ *       adjacent to them. T is computed at the eta of the beginning of the
+ *       time step, and it is null between two dry cells, so the other cells
+ *       are dry and decoupled from the active ones: their rows of T are null
+ *       and they stay on the bedrock. The time step is solved on the
+ *       subdomain of the active cells only (see SubDomain). After the time
+ *       step only the active cells may have changed, so only them and the
+ *       cells with a source are inspected to find the new wet cells. The
+ *       cells with a source are found again only when the rain changes, so
+ *       the cost of a time step is proportional to the wet area.
+ */
+public class ActiveSet {
+
+	/** The subdomain of the active cells. */
+	public SubDomain domain;
+
+	/** The array of eta of the active cells. */
+	public double[] eta;
+
+	/** The array of T of the subdomain in Row Compressed Form. */
+	public double[] matT;
+
+	/** The array of known terms of the active cells. */
+	public double[] arrb;
+
+	/** The array of the indices of the diagonal entries of the subdomain. */
+	public int[] indexDiag;
+
+	/** The index of every cell of the domain in the subdomain, or -1. */
+	int[] index;
+
+	/** The array of the new active cells. */
+	int[] work;
+
+	/** The active cells, in increasing order. */
+	int[] cells;
+
+	/** The cells with a source. */
+	int[] sourceCells = new int[0];
+
+	/**
+	 * Instantiates a new active set, with all the cells of the domain to be
+	 * inspected at the first update.
+	 *
+	 * @param mesh
+	 *            the object mesh is passed so every field of the mesh class is
+	 *            available
+	 */
+	public ActiveSet(AbstractRCAdjacencyMatrixBased mesh) {
+
+		index = new int[mesh.polygonsNumber];
+		work = new int[mesh.polygonsNumber];
+
+		cells = new int[mesh.polygonsNumber];
+
+		for (int i = 0; i < mesh.polygonsNumber; i++) {
+
+			cells[i] = i;
+
+		}
+
+		// the cells are indexed by the first update
+		Arrays.fill(index, -1);
+
+	}
+
+	/**
+	 * Update.
+	 *
+	 * @desc this method finds the active cells at the beginning of the time
+	 *       step and rebuilds the subdomain if they have changed
+	 *
+	 * @param eta
+	 *            the piezometric head of all the cells
+	 * @param mesh
+	 *            the object mesh is passed so every field of the mesh class is
+	 *            available
+	 *
+	 * @return true if the active cells have changed
+	 */
+	public boolean update(double[] eta, AbstractRCAdjacencyMatrixBased mesh) {
+
+		// the new active cells are marked with -2 (see add)
+		int number = 0;
+
+		for (int p = 0; p < cells.length; p++) {
+
+			int i = cells[p];
+
+			if (eta[i] > mesh.bedRockElevation[i]) {
+
+				number = add(i, number);
+
+			}
+
+		}
+
+		for (int p = 0; p < sourceCells.length; p++) {
+
+			number = add(sourceCells[p], number);
+
+		}
+
+		// the cells adjacent to the wet ones and to the ones with a source
+		int wetNumber = number;
+
+		for (int p = 0; p < wetNumber; p++) {
+
+			int i = work[p];
+
+			for (int j = mesh.Mp[i]; j < mesh.Mp[i + 1]; j++) {
+
+				number = add(mesh.Mi[j], number);
+
+			}
+
+		}
+
+		Arrays.sort(work, 0, number);
+
+		boolean changed = domain == null || number != cells.length;
+
+		for (int p = 0; p < number && !changed; p++) {
+
+			changed = work[p] != cells[p];
+
+		}
+
+		// the marks of the old and of the new cells are cleared, the active
+		// cells are indexed
+		for (int p = 0; p < cells.length; p++) {
+
+			index[cells[p]] = -1;
+
+		}
+
+		for (int p = 0; p < number; p++) {
+
+			index[work[p]] = -1;
+
+		}
+
+		if (changed) {
+
+			cells = Arrays.copyOf(work, number);
+
+		}
+
+		for (int k = 0; k < cells.length; k++) {
+
+			index[cells[k]] = k;
+
+		}
+
+		if (changed) {
+
+			domain = new SubDomain(mesh, cells, index);
+			indexDiag = new RCIndexDiagonalElement().computeIndexDiag(
+					domain.polygonsNumber, domain.Mp, domain.Mi);
+
+			this.eta = new double[domain.polygonsNumber];
+			matT = new double[domain.Mi.length];
+			arrb = new double[domain.polygonsNumber];
+
+		}
+
+		return changed;
+
+	}
+
+	/**
+	 * Update sources.
+	 *
+	 * @desc this method finds the cells with a source; it is called when the
+	 *       source of the mesh changes
+	 *
+	 * @param mesh
+	 *            the object mesh is passed so every field of the mesh class is
+	 *            available
+	 */
+	public void updateSources(AbstractRCAdjacencyMatrixBased mesh) {
+
+		int number = 0;
+
+		for (int i = 0; i < mesh.polygonsNumber; i++) {
+
+			if (mesh.source[i] != 0) {
+
+				work[number++] = i;
+
+			}
+
+		}
+
+		sourceCells = Arrays.copyOf(work, number);
+
+	}
+
+	/**
+	 * Add.
+	 *
+	 * @desc this method appends the cell to the new active cells, if it isn't
+	 *       already there
+	 *
+	 * @return the number of new active cells
+	 */
+	int add(int i, int number) {
+
+		if (index[i] != -2) {
+
+			index[i] = -2;
+			work[number++] = i;
+
+		}
+
+		return number;
+
+	}
+
+}
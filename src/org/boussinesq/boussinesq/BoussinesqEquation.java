@@ -3,10 +3,8 @@ package org.boussinesq.boussinesq;
 import java.io.File;
 import java.io.IOException;
 
-import org.boussinesq.boussinesq.NOdirichletBoundaryConditions.ComputeBEqNoDirichlet;
 import org.boussinesq.boussinesq.computationalDomain.CatchmentDomain;
 import org.boussinesq.boussinesq.computationalDomain.SongDomain;
-import org.boussinesq.boussinesq.dirichletBoundaryConditions.ComputeBEqDirichlet;
 import org.boussinesq.song.Song;
 import org.meshNumericalMethods.unstructuredMesh.adjacencyMatrixBased.AbstractRCAdjacencyMatrixBased;
 import org.wordpress.growworkinghard.GUI.SelectOptions;
@@ -119,9 +117,9 @@ public class BoussinesqEquation {
 	 * Define boundary conditions type.
 	 * 
 	 * @desc this method define boundary conditions type, observing the array of
-	 *       the eta of Dirichlet cells. In fact if this array is not null the
-	 *       compute of the solution follows BEqDirichlet code, slower than
-	 *       BEqNoDirichlet code.
+	 *       the eta of Dirichlet cells, and computes the solution. The
+	 *       Dirichlet cells are found once by the Dirichlet mask, and the
+	 *       solution follows the same code with and without them.
 	 * 
 	 * @param beq
 	 *            the object boussinesq equation is composed by two variables:
@@ -135,37 +133,17 @@ public class BoussinesqEquation {
 	public void defineBoundaryConditionsType(BoussinesqEquation beq)
 			throws IterativeSolverDoubleNotConvergedException, IOException {
 
-		// initialize BC like case without Dirichlet cells
-		beq.boundaryConditions = "NoDirichlet";
+		ComputeBEq cBEq = new ComputeBEq(mesh);
 
-		// search a Dirichlet cell into the array of eta of Dirichlet
-		for (int i = 0; i < mesh.etaDirichlet.length; i++) {
-
-			if (mesh.etaDirichlet[i] != mesh.NOVALUE) {
-
-				System.out.println(mesh.etaDirichlet[i]);
-				beq.boundaryConditions = "Dirichlet";
-				break;// go out the loop at the first Dirichlet cell
-			}
-
-		}
+		// the Dirichlet cells are found by the Dirichlet mask
+		beq.boundaryConditions = cBEq.mask.hasDirichletCells() ? "Dirichlet"
+				: "NoDirichlet";
 
 		// the simulation type is shown by the video output
 		TextIO.putln("Simulation boundary conditions: "
 				+ beq.boundaryConditions);
 
-		// choose the type of simulation at run time
-		if (beq.boundaryConditions.equals("Dirichlet")) {
-
-			ComputeBEqDirichlet cBEqD = new ComputeBEqDirichlet(mesh);
-			cBEqD.computeBEq(mesh);
-
-		} else {
-
-			ComputeBEqNoDirichlet cBEq = new ComputeBEqNoDirichlet(mesh);
-			cBEq.computeBEq(mesh);
-
-		}
+		cBEq.computeBEq(mesh);
 
 	}
 
@@ -0,0 +1,391 @@
+package org.boussinesq.boussinesq;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Properties;
+
+import org.boussinesq.boussinesq.computationalDomain.CatchmentDomain;
+import org.boussinesq.boussinesq.computationalDomain.SongDomain;
+import org.boussinesq.song.Song;
+import org.wordpress.growworkinghard.usefulClasses.TextIO;
+
+import cern.colt.matrix.tdouble.algo.solver.IterativeSolverDoubleNotConvergedException;
+
+/**
+ * Boussinesq Equation Batch class
+ *
+ * @desc	This class runs a simulation of BoussinesqEquation without any
+ * 			window: the choices of the dialogs are read from a
+ * 			configuration file (java.util.Properties), so the simulations
+ * 			can be run by scripts on machines without a display. The keys
+ * 			of the file are:
+ *
+ * 			simulation		"catchment" or "song"
+ * 			input.dir		the folder of the input files of the catchment
+ * 			input.NAME		the path of the input file NAME (e.g.
+ * 							input.vSource), if it isn't input.dir/NAME
+ * 			output.dir		the folder of the solution (and of the Song
+ * 							analytical solution)
+ * 			time.step		TimeSimulation.TIMESTEP [s]
+ * 			time.simulation	TimeSimulation.SIMULATIONTIME [s]
+ * 			time.output		TimeSimulation.OUTPUTTIMESTEP [s]
+ * 			solver.FIELD	the field FIELD of SolverOptions (e.g.
+ * 							solver.LINEARSOLVER = cholesky)
+ *
+ * 			The relative paths are relative to the folder of the
+ * 			configuration file. An unknown key, or a time.output that isn't
+ * 			a positive multiple of time.step, stops the simulation before
+ * 			it starts.
+ *
+ * Copyright GPL v. 3 (http://www.gnu.org/licenses/gpl.html)
+ * */
+public class BoussinesqEquationBatch {
+
+	/** The keys of the configuration, besides input.NAME and solver.FIELD. */
+	public static final String[] KEYS = { "simulation", "input.dir",
+			"output.dir", "time.step", "time.simulation", "time.output" };
+
+	/** The configuration of the simulation. */
+	Properties configuration;
+
+	/** The folder of the configuration file. */
+	File configurationDir;
+
+	/**
+	 * Instantiates a new batch simulation.
+	 *
+	 * @param configurationFile
+	 *            the configuration file
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public BoussinesqEquationBatch(File configurationFile) throws IOException {
+
+		configuration = new Properties();
+
+		InputStream input = new FileInputStream(configurationFile);
+
+		try {
+
+			configuration.load(input);
+
+		} finally {
+
+			input.close();
+
+		}
+
+		configurationDir = configurationFile.getAbsoluteFile().getParentFile();
+
+	}
+
+	/**
+	 * Configure.
+	 *
+	 * @desc this method checks the keys of the configuration and sets the
+	 *       time of the simulation, the options of the solver and the folder
+	 *       of the solution
+	 */
+	public void configure() {
+
+		for (String key : configuration.stringPropertyNames()) {
+
+			if (!Arrays.asList(KEYS).contains(key) && !key.startsWith("input.")
+					&& !key.startsWith("solver.")) {
+
+				throw new IllegalArgumentException("Unknown key " + key);
+
+			}
+
+		}
+
+		String step = configuration.getProperty("time.step");
+
+		if (step != null) {
+
+			TimeSimulation.TIMESTEP = Integer.parseInt(step.trim());
+			TimeSimulation.OUTPUTTIMESTEP = TimeSimulation.TIMESTEP;
+
+		}
+
+		String simulationTime = configuration.getProperty("time.simulation");
+
+		if (simulationTime != null) {
+
+			TimeSimulation.SIMULATIONTIME = Integer.parseInt(simulationTime
+					.trim());
+
+		}
+
+		String output = configuration.getProperty("time.output");
+
+		if (output != null) {
+
+			TimeSimulation.OUTPUTTIMESTEP = Integer.parseInt(output.trim());
+
+		}
+
+		// the output files are written at the ends of the time steps
+		if (TimeSimulation.TIMESTEP <= 0) {
+
+			throw new IllegalArgumentException("The key time.step must be "
+					+ "positive");
+
+		}
+
+		if (TimeSimulation.SIMULATIONTIME <= 0) {
+
+			throw new IllegalArgumentException("The key time.simulation must "
+					+ "be positive");
+
+		}
+
+		if (TimeSimulation.OUTPUTTIMESTEP <= 0
+				|| TimeSimulation.OUTPUTTIMESTEP % TimeSimulation.TIMESTEP != 0) {
+
+			throw new IllegalArgumentException("The key time.output must be a "
+					+ "positive multiple of time.step");
+
+		}
+
+		for (String key : configuration.stringPropertyNames()) {
+
+			if (key.startsWith("solver.")) {
+
+				setSolverOption(key.substring("solver.".length()),
+						configuration.getProperty(key).trim());
+
+			}
+
+		}
+
+		BoussinesqEquation.solutionDir = path(configuration
+				.getProperty("output.dir"));
+
+		if (BoussinesqEquation.solutionDir == null) {
+
+			throw new IllegalArgumentException("Missing key output.dir");
+
+		}
+
+		BoussinesqEquation.solutionDir.mkdirs();
+
+	}
+
+	/**
+	 * Set solver option.
+	 *
+	 * @desc this method sets the public static field name of SolverOptions
+	 *       to the value, converted to the type of the field
+	 *
+	 * @param name
+	 *            the name of the field
+	 * @param value
+	 *            the value of the field
+	 */
+	void setSolverOption(String name, String value) {
+
+		Field field;
+
+		try {
+
+			field = SolverOptions.class.getField(name);
+
+		} catch (NoSuchFieldException e) {
+
+			throw new IllegalArgumentException("Unknown solver option " + name);
+
+		}
+
+		if (!Modifier.isStatic(field.getModifiers())
+				|| Modifier.isFinal(field.getModifiers())) {
+
+			throw new IllegalArgumentException("Unknown solver option " + name);
+
+		}
+
+		Class<?> type = field.getType();
+
+		try {
+
+			if (type == String.class) {
+
+				field.set(null, value);
+
+			} else if (type == boolean.class) {
+
+				if (!value.equals("true") && !value.equals("false")) {
+
+					throw new IllegalArgumentException("Solver option " + name
+							+ " must be true or false");
+
+				}
+
+				field.setBoolean(null, Boolean.parseBoolean(value));
+
+			} else if (type == int.class) {
+
+				field.setInt(null, Integer.parseInt(value));
+
+			} else if (type == double.class) {
+
+				field.setDouble(null, Double.parseDouble(value));
+
+			} else {
+
+				throw new IllegalArgumentException("Unknown solver option "
+						+ name);
+
+			}
+
+		} catch (IllegalAccessException e) {
+
+			throw new IllegalArgumentException("Unknown solver option " + name);
+
+		}
+
+	}
+
+	/**
+	 * Path.
+	 *
+	 * @return the file of the path, relative to the folder of the
+	 *         configuration file, or null if the path is null
+	 */
+	File path(String path) {
+
+		if (path == null) {
+
+			return null;
+
+		}
+
+		File file = new File(path.trim());
+
+		return file.isAbsolute() ? file : new File(configurationDir,
+				path.trim());
+
+	}
+
+	/**
+	 * Define simulation type.
+	 *
+	 * @desc this method loads the computational domain of the simulation
+	 *       named by the key simulation, as
+	 *       BoussinesqEquation.defineSimulationType does with the dialogs
+	 *
+	 * @param beq
+	 *            the simulation
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public void defineSimulationType(BoussinesqEquation beq) throws IOException {
+
+		String simulation = configuration.getProperty("simulation", "").trim();
+
+		if (simulation.equals("song")) {
+
+			beq.simulationType = "Song simulation";
+			beq.mesh = new SongDomain();
+
+			// run the Song analytical solution
+			Song s = new Song(TimeSimulation.SIMULATIONTIME,
+					beq.mesh.polygonsNumber, beq.mesh.hydrConductivity[0]);
+			s.beqSong(beq.mesh.porosity, BoussinesqEquation.solutionDir);
+
+		} else if (simulation.equals("catchment")) {
+
+			File dataPath = path(configuration.getProperty("input.dir"));
+
+			if (dataPath == null) {
+
+				throw new IllegalArgumentException("Missing key input.dir");
+
+			}
+
+			// the input files out of input.dir, by file name
+			Properties inputFiles = new Properties();
+
+			for (String key : configuration.stringPropertyNames()) {
+
+				if (key.startsWith("input.") && !key.equals("input.dir")) {
+
+					inputFiles.setProperty(key.substring("input.".length()),
+							path(configuration.getProperty(key)).getPath());
+
+				}
+
+			}
+
+			beq.simulationType = "Catchment basin simulation";
+			beq.mesh = new CatchmentDomain(dataPath, inputFiles);
+
+		} else {
+
+			throw new IllegalArgumentException("The key simulation must be "
+					+ "catchment or song");
+
+		}
+
+	}
+
+	/**
+	 * Run.
+	 *
+	 * @desc this method configures and runs the simulation
+	 *
+	 * @throws IterativeSolverDoubleNotConvergedException
+	 *             the iterative solver double not converged exception
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public void run() throws IterativeSolverDoubleNotConvergedException,
+			IOException {
+
+		configure();
+
+		BoussinesqEquation beq = new BoussinesqEquation();
+		defineSimulationType(beq);
+
+		TextIO.putln("Simulation type: " + beq.simulationType);
+
+		beq.defineBoundaryConditionsType(beq);
+
+	}
+
+	/**
+	 * The main method.
+	 *
+	 * @desc the main runs the simulation of the configuration file, with
+	 *       no display
+	 *
+	 * @param args
+	 *            the path of the configuration file
+	 * @throws IterativeSolverDoubleNotConvergedException
+	 *             the iterative solver double not converged exception
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static void main(String[] args)
+			throws IterativeSolverDoubleNotConvergedException, IOException {
+
+		System.setProperty("java.awt.headless", "true");
+
+		if (args.length != 1) {
+
+			System.err.println("Usage: BoussinesqEquationBatch "
+					+ "<configuration file>");
+			System.exit(2);
+
+		}
+
+		new BoussinesqEquationBatch(new File(args[0])).run();
+
+	}
+
+}
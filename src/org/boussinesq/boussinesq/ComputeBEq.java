@@ -3,13 +3,28 @@ package org.boussinesq.boussinesq;
 import java.io.IOException;
 import java.text.DecimalFormat;
 
-import org.boussinesq.RowCompressedForm.RCConjugateGradient;
-import org.boussinesq.boussinesq.NOdirichletBoundaryConditions.Solver;
+import org.boussinesq.RowCompressedForm.RCIndexDiagonalElement;
+import org.boussinesq.boussinesq.computationalDomain.ComputationalDomain;
+import org.boussinesq.boussinesq.computationalDomain.SubDomain;
+import org.boussinesq.machineEpsilon.MachineEpsilon;
 import org.meshNumericalMethods.unstructuredMesh.adjacencyMatrixBased.AbstractRCAdjacencyMatrixBased;
+import org.partialDifferentialEquation.AbstractPdeTerm;
 import org.partialDifferentialEquation.nonLinearParabolicPDE.AbstractPde;
 import org.wordpress.growworkinghard.usefulClasses.FileWrite;
+import org.wordpress.growworkinghard.usefulClasses.TextIO;
 
-public abstract class ComputeBEq extends AbstractPde {
+import cern.colt.matrix.tdouble.algo.solver.IterativeSolverDoubleNotConvergedException;
+
+/**
+ * The Class ComputeBEq.
+ * 
+ * @desc this class solves the Boussinesq equation with the boundary
+ *       conditions of the domain: the no-flux ones on the border and the
+ *       head-based ones (Dirichlet) of the cells whose eta of Dirichlet is not
+ *       a NOVALUE. The Dirichlet cells are found once (see DirichletMask), so
+ *       the domains with and without Dirichlet cells follow the same code.
+ */
+public class ComputeBEq extends AbstractPde {
 
 	double[] aquiferThickness;
 	double[] volumeSource;
@@ -18,6 +33,9 @@ public abstract class ComputeBEq extends AbstractPde {
 
 	double[] volume;
 
+	/** The rain of the last interval written in the source of the mesh. */
+	double rain;
+
 	double volumeOld = 0;
 	double volumeNew = 0;
 
@@ -26,14 +44,49 @@ public abstract class ComputeBEq extends AbstractPde {
 	public static long timeCompute;
 	public static long timeSolver;
 
+	double[] eta;
+	double[] matT;
+	double[] arrb;
+
 	Solver newton;
-	RCConjugateGradient cg;
+	PdeTermT computeT;
+	PdeTermB computeB;
+	DirichletMask mask;
+	ActiveSet activeSet;
+	DirichletMask activeMask;
+	boolean clipAllCells = true;
+
+	RCIndexDiagonalElement rcIndexDiagonalElement;
+	MachineEpsilon cMEd;
 	DecimalFormat myformatter;
+	ParallelPdeAssembly parallelAssembly;
 
-	public ComputeBEq() {
+	public ComputeBEq(AbstractRCAdjacencyMatrixBased mesh) {
 
 		myformatter = computePattern();
 
+		eta = new double[mesh.polygonsNumber];
+		rcIndexDiagonalElement = new RCIndexDiagonalElement();
+		cMEd = new MachineEpsilon();
+
+		indexDiag = rcIndexDiagonalElement.computeIndexDiag(
+				mesh.polygonsNumber, mesh.Mp, mesh.Mi);
+		mask = new DirichletMask(mesh, indexDiag);
+
+		// with the active set the solver is built on the active cells
+		if (SolverOptions.ACTIVESET) {
+
+			activeSet = new ActiveSet(mesh);
+
+		} else {
+
+			newton = new Solver(mesh, mask);
+
+		}
+
+		computeT = new PdeTermT();
+		computeB = new PdeTermB();
+
 	}
 
 	public DecimalFormat computePattern() {
@@ -55,14 +108,709 @@ public abstract class ComputeBEq extends AbstractPde {
 
 	}
 
+	/**
+	 * Assemble pde term.
+	 * 
+	 * @desc this method assembles the term on SolverOptions.ASSEMBLYTHREADS
+	 *       threads; with one thread the serial assembly of AbstractPde is
+	 *       used. The compiled topology of the domain is updated first, if
+	 *       the time step has changed.
+	 */
+	@Override
+	public double[] assemblePdeTerm(double[] u,
+			AbstractRCAdjacencyMatrixBased mesh, AbstractPdeTerm term) {
+
+		if (mesh instanceof ComputationalDomain) {
+
+			((ComputationalDomain) mesh)
+					.compileTopology(TimeSimulation.timestep);
+
+		}
+
+		if (SolverOptions.ASSEMBLYTHREADS <= 1) {
+
+			return super.assemblePdeTerm(u, mesh, term);
+
+		}
+
+		if (parallelAssembly == null) {
+
+			parallelAssembly = new ParallelPdeAssembly(
+					SolverOptions.ASSEMBLYTHREADS);
+
+		}
+
+		return parallelAssembly.assemblePdeTerm(u, mesh, term);
+
+	}
+
+	/**
+	 * Assemble T.
+	 * 
+	 * @desc this method assembles the matrix T in Row Compressed Form with the
+	 *       diagonal entries of equation (20). With SolverOptions.TASSEMBLY
+	 *       equal to "sides" T is computed once for every shared side of the
+	 *       computational domain (see PdeTermT.computeMatrixBySides),
+	 *       otherwise for every entry of the matrix and the diagonal entries
+	 *       are the sums of the rows.
+	 * 
+	 * @param u
+	 *            the array of the unknowns
+	 * @param mesh
+	 *            the object mesh is passed so every field of the mesh class is
+	 *            available
+	 * @param term
+	 *            the PDE term of T
+	 * 
+	 * @return the array of T in Row Compressed Form
+	 */
+	public double[] assembleT(double[] u, AbstractRCAdjacencyMatrixBased mesh,
+			PdeTermT term) {
+
+		if (SolverOptions.TASSEMBLY.equals("sides")
+				&& mesh instanceof ComputationalDomain) {
+
+			ComputationalDomain domain = (ComputationalDomain) mesh;
+			domain.compileTopology(TimeSimulation.timestep);
+
+			double[] matT = new double[mesh.Mi.length];
+			term.computeMatrixBySides(u, domain, matT);
+
+			return matT;
+
+		}
+
+		double[] matT = assemblePdeTerm(u, mesh, term);
+
+		double rowSum = 0;
+
+		/* to identify the diagonal entry of matrix T in row-compressed form */
+		int index = 0;
+
+		for (int i = 0; i < mesh.polygonsNumber; i++) {
+
+			for (int j = mesh.Mp[i]; j < mesh.Mp[i + 1]; j++) {
+
+				if (mesh.Mi[j] != i) {
+					// equation (21)
+
+					rowSum += -matT[j];
+
+				} else {
+					index = j;
+				}
+
+			}
+			// equation (20)
+			if (rowSum == 0) {
+
+				matT[index] = 1;
+
+			} else {
+
+				matT[index] = rowSum;
+				rowSum = 0;
+
+			}
+		}
+
+		return matT;
+
+	}
+
+	/**
+	 * Assemble T and b.
+	 * 
+	 * @desc this method assembles T with the diagonal entries of equation
+	 *       (20) and the array of known terms in one pass over the rows of the
+	 *       mesh, on SolverOptions.ASSEMBLYTHREADS threads; the result is the
+	 *       same of assembleT and assemblePdeTerm for b. With
+	 *       SolverOptions.TASSEMBLY equal to "sides" T is assembled by sides
+	 *       and b separately.
+	 * 
+	 * @param u
+	 *            the array of the unknowns
+	 * @param mesh
+	 *            the object mesh is passed so every field of the mesh class is
+	 *            available
+	 * @param termT
+	 *            the PDE term of T
+	 * @param termB
+	 *            the PDE term of the known terms
+	 * @param matT
+	 *            the array where T in Row Compressed Form is written, with
+	 *            null entries
+	 * @param arrb
+	 *            the array where the known terms are written
+	 */
+	public void assembleTb(final double[] u,
+			final AbstractRCAdjacencyMatrixBased mesh, final PdeTermT termT,
+			final AbstractPdeTerm termB, final double[] matT,
+			final double[] arrb) {
+
+		if (mesh instanceof ComputationalDomain) {
+
+			ComputationalDomain domain = (ComputationalDomain) mesh;
+			domain.compileTopology(TimeSimulation.timestep);
+
+			if (SolverOptions.TASSEMBLY.equals("sides")) {
+
+				termT.computeMatrixBySides(u, domain, matT);
+				System.arraycopy(assemblePdeTerm(u, mesh, termB), 0, arrb, 0,
+						arrb.length);
+
+				return;
+
+			}
+
+		}
+
+		if (SolverOptions.ASSEMBLYTHREADS <= 1) {
+
+			assembleTbRows(u, mesh, termT, termB, matT, arrb, 0,
+					mesh.polygonsNumber);
+
+			return;
+
+		}
+
+		if (parallelAssembly == null) {
+
+			parallelAssembly = new ParallelPdeAssembly(
+					SolverOptions.ASSEMBLYTHREADS);
+
+		}
+
+		parallelAssembly.invoke(mesh, new ParallelPdeAssembly.RowKernel() {
+
+			public void compute(int firstRow, int lastRow) {
+
+				assembleTbRows(u, mesh, termT, termB, matT, arrb, firstRow,
+						lastRow);
+
+			}
+
+		});
+
+	}
+
+	/**
+	 * Assemble T and b rows.
+	 * 
+	 * @desc this method computes the rows of T and b from firstRow to
+	 *       lastRow - 1: the off-diagonal entries of the row, their sum into
+	 *       the diagonal entry (equations (20) and (21)) and the known term
+	 */
+	void assembleTbRows(double[] u, AbstractRCAdjacencyMatrixBased mesh,
+			PdeTermT termT, AbstractPdeTerm termB, double[] matT,
+			double[] arrb, int firstRow, int lastRow) {
+
+		for (int i = firstRow; i < lastRow; i++) {
+
+			double rowSum = 0;
+			int index = 0;
+
+			for (int j = mesh.Mp[i]; j < mesh.Mp[i + 1]; j++) {
+
+				if (mesh.Mi[j] != i) {
+
+					matT[j] = termT.computeMatrixTerm(u, mesh, i, j);
+					rowSum += -matT[j];
+
+				} else {
+
+					index = j;
+
+				}
+
+			}
+
+			matT[index] = rowSum == 0 ? 1 : rowSum;
+
+			arrb[i] = termB.computeArrayTerm(u, mesh, i);
+
+		}
+
+	}
+
+	/**
+	 * Compute BEq arrays.
+	 * 
+	 * @desc this method assembles T and the array of known terms, and applies
+	 *       the Dirichlet mask to them (see DirichletMask.applyToT)
+	 * 
+	 * @param eta
+	 *            the piezometric head
+	 * @param mesh
+	 *            the object mesh is passed so every field of the mesh class is
+	 *            available
+	 */
+	public void computeBEqArrays(double[] eta,
+			AbstractRCAdjacencyMatrixBased mesh) {
+
+		if (SolverOptions.FUSEDKERNELS) {
+
+			matT = new double[mesh.Mi.length];
+			arrb = new double[mesh.polygonsNumber];
+
+			assembleTb(eta, mesh, computeT, computeB, matT, arrb);
+
+		} else {
+
+			matT = assembleT(eta, mesh, computeT);
+			arrb = assemblePdeTerm(eta, mesh, computeB);
+
+		}
+
+		PdeTermB.reportNegativeTerms(arrb, null, originalIndex(mesh));
+
+		mask.applyToT(matT, arrb, mesh);
+
+	}
+
+	public double[] solutionMethod(double[] etaOld, double[] matT,
+			double[] arrb, AbstractRCAdjacencyMatrixBased mesh)
+			throws IterativeSolverDoubleNotConvergedException {
+
+		double[] eta = new double[etaOld.length];
+
+		eta = newton.newtonIteration(arrb, matT, etaOld, tolerance, mesh);
+
+		for (int i = 0; i < mesh.polygonsNumber; i++) {
+
+			if (eta[i] < mesh.bedRockElevation[i]) {
+
+				eta[i] = mesh.bedRockElevation[i];
+
+			}
+
+		}
+
+		return eta;
+
+	}
+
+	public void computeBEq(AbstractRCAdjacencyMatrixBased mesh) {
+
+		tolerance = cMEd.computeMachineEpsilonDouble();
+
+		// initialize eta array
+		System.arraycopy(mesh.eta, 0, eta, 0, mesh.eta.length);
+
+		mesh.source = new double[mesh.polygonsNumber];
+		rain = 0;
+		mesh.outflow = new double[mesh.polygonsNumber];
+
+		temporalLoop(mesh);
+
+	}
+
+	public void temporalLoop(AbstractRCAdjacencyMatrixBased mesh) {
+
+		if (SolverOptions.ADAPTIVETIMESTEP) {
+
+			adaptiveTemporalLoop(mesh);
+			return;
+
+		}
+
+		TimeSimulation.timestep = TimeSimulation.TIMESTEP;
+
+		int contatore = 0;
+
+		for (int t = 0; t < TimeSimulation.SIMULATIONTIME; t += TimeSimulation.TIMESTEP) {
+
+			applyRain(contatore, mesh);
+
+			contatore++;
+
+			mask.imposeDirichlet(eta, mesh);
+
+			TextIO.putln("Time step " + (double) t / 3600);
+
+			solveTimeStep(mesh);
+
+			TextIO.putln(newton == null ? "No active cells"
+					: newton.result.toString());
+
+			// computeOutputFeatures(eta, mesh);
+
+			// the file of an output interval is named after its beginning
+			int end = t + TimeSimulation.TIMESTEP;
+
+			if (end % TimeSimulation.OUTPUTTIMESTEP == 0
+					|| end >= TimeSimulation.SIMULATIONTIME) {
+
+				writeOutput(end, eta, mesh);
+
+			}
+
+		}
+
+	}
+
+	/**
+	 * Apply rain.
+	 * 
+	 * @desc this method writes the rain of the interval of the rain series in
+	 *       the source of every cell, only if it has changed; the active set
+	 *       then finds the cells with a source again
+	 * 
+	 * @param contatore
+	 *            the index of the interval of the rain series
+	 * @param mesh
+	 *            the object mesh is passed so every field of the mesh class is
+	 *            available
+	 */
+	void applyRain(int contatore, AbstractRCAdjacencyMatrixBased mesh) {
+
+		if (mesh.rainHour[contatore] == rain) {
+
+			return;
+
+		}
+
+		rain = mesh.rainHour[contatore];
+
+		for (int i = 0; i < mesh.polygonsNumber; i++) {
+
+			mesh.source[i] = rain;
+
+		}
+
+		if (activeSet != null) {
+
+			activeSet.updateSources(mesh);
+
+		}
+
+	}
+
+	/**
+	 * Adaptive temporal loop.
+	 * 
+	 * @desc this method solves the simulation with the deltat chosen by
+	 *       TimeStepController: the rain of every time step is the one of the
+	 *       interval of the rain series where it begins, and a rejected time
+	 *       step is solved again from the eta of its beginning. The output
+	 *       files are the ones of temporalLoop.
+	 * 
+	 * @param mesh
+	 *            the object mesh is passed so every field of the mesh class is
+	 *            available
+	 */
+	public void adaptiveTemporalLoop(AbstractRCAdjacencyMatrixBased mesh) {
+
+		TimeStepController controller = new TimeStepController();
+		double[] etaStart = new double[eta.length];
+
+		double time = 0;
+
+		while (time < TimeSimulation.SIMULATIONTIME) {
+
+			double end = controller.computeStepEnd(time, mesh);
+			TimeSimulation.timestep = end - time;
+
+			applyRain(controller.computeRainIndex(time), mesh);
+
+			mask.imposeDirichlet(eta, mesh);
+			System.arraycopy(eta, 0, etaStart, 0, eta.length);
+
+			TextIO.putln("Time step " + time / 3600 + " (deltat "
+					+ TimeSimulation.timestep + " s)");
+
+			boolean converged = solveTimeStep(mesh);
+
+			TextIO.putln(newton == null ? "No active cells"
+					: newton.result.toString());
+
+			if (!controller.accept(newton == null ? null : newton.result,
+					converged, TimeSimulation.timestep)) {
+
+				TextIO.putln("Time step rejected, deltat "
+						+ controller.timestep + " s");
+				System.arraycopy(etaStart, 0, eta, 0, eta.length);
+				continue;
+
+			}
+
+			time = end;
+
+			if (time % TimeSimulation.OUTPUTTIMESTEP == 0
+					|| time >= TimeSimulation.SIMULATIONTIME) {
+
+				writeOutput((int) time, eta, mesh);
+
+			}
+
+		}
+
+		TextIO.putln("Time steps: " + controller.acceptedSteps
+				+ " accepted, " + controller.rejectedSteps + " rejected");
+
+	}
+
+	/**
+	 * Solve time step.
+	 * 
+	 * @desc this method solves the time step of length TimeSimulation.timestep
+	 *       from the current eta
+	 * 
+	 * @param mesh
+	 *            the object mesh is passed so every field of the mesh class is
+	 *            available
+	 * 
+	 * @return false if the linear solver didn't converge
+	 */
+	boolean solveTimeStep(AbstractRCAdjacencyMatrixBased mesh) {
+
+		try {
+
+			if (activeSet != null) {
+
+				solveActiveSet(mesh);
+
+			} else {
+
+				computeBEqArrays(eta, mesh);
+				eta = solutionMethod(eta, matT, arrb, mesh);
+
+			}
+
+		} catch (IterativeSolverDoubleNotConvergedException e) {
+
+			// the adaptive time step solves the step again, shorter
+			TextIO.putln("Linear solver: not converged ("
+					+ e.getReason() + ")");
+			return false;
+
+		}
+
+		return true;
+
+	}
+
+	/**
+	 * Write output.
+	 * 
+	 * @desc this method writes the solution at the end of an output interval
+	 *       in the file named after the beginning of the interval
+	 * 
+	 * @param end
+	 *            the end of the output interval [s]
+	 */
+	void writeOutput(int end, double[] eta,
+			AbstractRCAdjacencyMatrixBased mesh) {
+
+		int time = (int) (Math.ceil((double) end
+				/ TimeSimulation.OUTPUTTIMESTEP) - 1)
+				* TimeSimulation.OUTPUTTIMESTEP;
+
+		try {
+
+			openTxtFile(time);
+			writeSolution(time, eta, mesh);
+
+		} catch (IOException e) {
+
+			e.printStackTrace();
+
+		}
+
+	}
+
+	/**
+	 * Solve active set.
+	 * 
+	 * @desc this method solves the time step only on the active cells (see
+	 *       ActiveSet): T and the known terms are assembled on the rows of the
+	 *       active cells, and the Newton's method works on their subdomain,
+	 *       with its own solver, built again when the active cells change.
+	 *       The eta of the other cells doesn't change.
+	 * 
+	 * @param mesh
+	 *            the object mesh is passed so every field of the mesh class is
+	 *            available
+	 * @throws IterativeSolverDoubleNotConvergedException
+	 *             the iterative solver double not converged exception
+	 */
+	public void solveActiveSet(AbstractRCAdjacencyMatrixBased mesh)
+			throws IterativeSolverDoubleNotConvergedException {
+
+		if (activeSet.update(eta, mesh)) {
+
+			SubDomain domain = activeSet.domain;
+
+			activeMask = new DirichletMask(domain, activeSet.indexDiag);
+			newton = domain.polygonsNumber == 0 ? null : new Solver(domain,
+					activeMask);
+
+		}
+
+		if (newton == null) {
+
+			return;
+
+		}
+
+		assembleActiveSet(eta, mesh);
+		PdeTermB.reportNegativeTerms(activeSet.arrb, activeSet.cells,
+				originalIndex(mesh));
+		activeMask.applyToT(activeSet.matT, activeSet.arrb, activeSet.domain);
+
+		activeSet.domain.restrict(eta, activeSet.eta);
+
+		newton.newtonIteration(activeSet.arrb, activeSet.matT, activeSet.eta,
+				tolerance, activeSet.domain);
+
+		activeSet.domain.prolong(activeSet.eta, eta);
+
+		// the eta of the other cells hasn't changed since all the cells were
+		// clipped, at the first time step solved
+		int[] cells = activeSet.cells;
+		int number = clipAllCells ? mesh.polygonsNumber : cells.length;
+
+		for (int k = 0; k < number; k++) {
+
+			int i = clipAllCells ? k : cells[k];
+
+			if (eta[i] < mesh.bedRockElevation[i]) {
+
+				eta[i] = mesh.bedRockElevation[i];
+
+			}
+
+		}
+
+		clipAllCells = false;
+
+	}
+
+	/**
+	 * Assemble active set.
+	 * 
+	 * @desc this method assembles T with the diagonal entries of equation
+	 *       (20) and the known terms on the rows of the active cells, on
+	 *       SolverOptions.ASSEMBLYTHREADS threads. The entries of T to the
+	 *       cells out of the active set are null, so the diagonal entries are
+	 *       the ones of assembleT.
+	 * 
+	 * @param u
+	 *            the array of the unknowns of all the cells
+	 * @param mesh
+	 *            the object mesh is passed so every field of the mesh class is
+	 *            available
+	 */
+	void assembleActiveSet(final double[] u,
+			final AbstractRCAdjacencyMatrixBased mesh) {
+
+		if (mesh instanceof ComputationalDomain) {
+
+			((ComputationalDomain) mesh)
+					.compileTopology(TimeSimulation.timestep);
+
+		}
+
+		if (SolverOptions.ASSEMBLYTHREADS <= 1) {
+
+			assembleActiveRows(u, mesh, 0, activeSet.domain.polygonsNumber);
+
+			return;
+
+		}
+
+		if (parallelAssembly == null) {
+
+			parallelAssembly = new ParallelPdeAssembly(
+					SolverOptions.ASSEMBLYTHREADS);
+
+		}
+
+		parallelAssembly.invoke(activeSet.domain,
+				new ParallelPdeAssembly.RowKernel() {
+
+					public void compute(int firstRow, int lastRow) {
+
+						assembleActiveRows(u, mesh, firstRow, lastRow);
+
+					}
+
+				});
+
+	}
+
+	/**
+	 * Assemble active rows.
+	 * 
+	 * @desc this method computes the rows of T and b of the active cells from
+	 *       firstRow to lastRow - 1, as assembleTbRows
+	 */
+	void assembleActiveRows(double[] u, AbstractRCAdjacencyMatrixBased mesh,
+			int firstRow, int lastRow) {
+
+		SubDomain domain = activeSet.domain;
+		double[] matT = activeSet.matT;
+
+		for (int k = firstRow; k < lastRow; k++) {
+
+			int i = domain.cells[k];
+			double rowSum = 0;
+			int index = 0;
+
+			for (int j = domain.Mp[k]; j < domain.Mp[k + 1]; j++) {
+
+				if (domain.Mi[j] != k) {
+
+					matT[j] = computeT.computeMatrixTerm(u, mesh, i,
+							domain.entryMap[j]);
+					rowSum += -matT[j];
+
+				} else {
+
+					index = j;
+
+				}
+
+			}
+
+			matT[index] = rowSum == 0 ? 1 : rowSum;
+
+			activeSet.arrb[k] = computeB.computeArrayTerm(u, mesh, i);
+
+		}
+
+	}
+
+	/**
+	 * Original index.
+	 * 
+	 * @return the index in the input files of every cell of the mesh, or
+	 *         null if the cells haven't been renumbered
+	 */
+	int[] originalIndex(AbstractRCAdjacencyMatrixBased mesh) {
+
+		if (mesh instanceof ComputationalDomain) {
+
+			return ((ComputationalDomain) mesh).originalIndex;
+
+		}
+
+		return null;
+
+	}
+
 	public void writeSolution(int time, double[] eta,
 			AbstractRCAdjacencyMatrixBased mesh) throws IOException {
 
 		double[] etaPlot = new double[mesh.polygonsNumber];
+
+		// the cells are written in the numbering of the input files
+		int[] originalIndex = originalIndex(mesh);
 		
 		for (int i=0; i< mesh.polygonsNumber; i++){
 			
-			etaPlot[i] = eta[i] - mesh.bedRockElevation[i];
+			etaPlot[originalIndex == null ? i : originalIndex[i]] = eta[i]
+					- mesh.bedRockElevation[i];
 			
 		}
 		
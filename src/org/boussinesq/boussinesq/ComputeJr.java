@@ -0,0 +1,54 @@
+package org.boussinesq.boussinesq;
+
+import org.boussinesq.RowCompressedForm.RCJacobian;
+import org.meshNumericalMethods.unstructuredMesh.adjacencyMatrixBased.AbstractRCAdjacencyMatrixBased;
+
+public class ComputeJr {
+
+	/**
+	 * Compute Jr.
+	 *
+	 * @desc this method computes the Jacobian matrix of the water volume stored
+	 *       into every cell. In this case the array Jr, in Row Compressed Form,
+	 *       is evaluated like sum between array T and the wet area, according
+	 *       the equation (A6) and (A7) of [Cordano & Rigon, 2012]. The array Jr
+	 *       is a copy of T where only diagonal entries are summed to P, because
+	 *       P is a diagonal matrix in Row Compressed Form too. The copy of T is
+	 *       already stored into the Jacobian (see RCJacobian.updateT), so only
+	 *       the diagonal entries are rewritten. The wet area is multiplied by
+	 *       the weight of the cell in the Dirichlet mask: the volume of water
+	 *       stored into a Dirichlet cell is constant with eta and P is equal
+	 *       to zero.
+	 *
+	 * @param jacobian
+	 *            the Jacobian matrix, whose diagonal entries are rewritten
+	 * @param arrT
+	 *            the array of T in Row Compressed Form
+	 * @param eta
+	 *            the piezometric head
+	 * @param mesh
+	 *            the object mesh is passed so every field of the mesh class is
+	 *            available
+	 * @param mask
+	 *            the Dirichlet mask
+	 */
+	public void computeJr(RCJacobian jacobian, double[] arrT, double[] eta,
+			AbstractRCAdjacencyMatrixBased mesh, DirichletMask mask) {
+
+		int[] indexDiag = jacobian.indexDiag;
+
+		// cicle only in the cells, because it's necessary to inspect only
+		// diagonal entries
+		for (int i = 0; i < indexDiag.length; i++) {
+
+			// equation (A6)
+			jacobian.values[indexDiag[i]] = arrT[indexDiag[i]]
+					+ PolygonGeometricalWetProperties.computeWetArea(eta[i],
+							mesh.bedRockElevation[i], mesh.porosity[i],
+							mesh.planArea[i]) * mask.free[i];
+
+		}
+
+	}
+
+}
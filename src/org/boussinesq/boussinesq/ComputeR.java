@@ -0,0 +1,56 @@
+package org.boussinesq.boussinesq;
+
+import org.meshNumericalMethods.unstructuredMesh.adjacencyMatrixBased.AbstractRCAdjacencyMatrixBased;
+
+public class ComputeR {
+
+	/**
+	 * Compute R.
+	 *
+	 * @desc this method computes the values of the residual function at every
+	 *       iteration of the Newton's method for every cell according to the
+	 *       equation (A3) of [Cordano & Rigon, 2012]. The residual function is
+	 *       multiplied by the weight of the cell in the Dirichlet mask, so it
+	 *       is zero for Dirichlet cells and the known piezometric head of
+	 *       Dirichlet cells remains constant during the Newton's loop.
+	 *
+	 * @param arrT
+	 *            the array of T in Row Compressed Form
+	 * @param arrb
+	 *            the array of known terms
+	 * @param eta
+	 *            the piezometric head
+	 * @param mesh
+	 *            the object mesh is passed so every field of the mesh class is
+	 *            available
+	 * @param mask
+	 *            the Dirichlet mask
+	 * @param arrR
+	 *            the array where the residual function is written
+	 */
+	public void computeR(double[] arrT, double[] arrb, double[] eta,
+			AbstractRCAdjacencyMatrixBased mesh, DirichletMask mask,
+			double[] arrR) {
+
+		// variable where allocate the matrix-vector multiplication
+		double sum = 0;
+
+		for (int i = 0; i < mesh.polygonsNumber; i++) {
+
+			for (int j = mesh.Mp[i]; j < mesh.Mp[i + 1]; j++) {
+				sum += arrT[j] * eta[mesh.Mi[j]];
+			}
+
+			double waterVolume = PolygonGeometricalWetProperties
+					.computeWaterVolume(eta[i], mesh.bedRockElevation[i],
+							mesh.porosity[i], mesh.planArea[i]);
+			// equation (A3)
+			arrR[i] = (waterVolume + sum - arrb[i]) * mask.free[i];
+
+			sum = 0;
+
+		}
+
+	}
+
+}
@@ -0,0 +1,137 @@
+package org.boussinesq.boussinesq;
+
+import java.util.Arrays;
+
+import org.boussinesq.RowCompressedForm.RCJacobian;
+import org.boussinesq.RowCompressedForm.RCSymmetricMatrix;
+import org.meshNumericalMethods.unstructuredMesh.adjacencyMatrixBased.AbstractRCAdjacencyMatrixBased;
+
+public class ComputeRJr {
+
+	/**
+	 * Compute R and Jr.
+	 * 
+	 * @desc this method computes in one pass over the rows the residual
+	 *       function (equation (A3), see ComputeR) and the diagonal entries of
+	 *       the Jacobian (equation (A6), see ComputeJr) of [Cordano & Rigon,
+	 *       2012], and the max norm of the residual function. The wet area of
+	 *       a cell is computed once for both, so the properties of the cell
+	 *       are read once; the results are the same of ComputeR and ComputeJr.
+	 *       The residual function and the wet area are multiplied by the
+	 *       weight of the cell in the Dirichlet mask, so the loop has no
+	 *       branch: for Dirichlet cells the residual is zero and the diagonal
+	 *       entry of the Jacobian is the one of T.
+	 * 
+	 * @param jacobian
+	 *            the Jacobian matrix, whose diagonal entries are rewritten
+	 * @param arrT
+	 *            the array of T in Row Compressed Form
+	 * @param arrb
+	 *            the array of known terms
+	 * @param eta
+	 *            the piezometric head
+	 * @param mesh
+	 *            the object mesh is passed so every field of the mesh class is
+	 *            available
+	 * @param mask
+	 *            the Dirichlet mask
+	 * @param arrR
+	 *            the array where the residual function is written
+	 * 
+	 * @return the max norm of the residual function
+	 */
+	public double computeRJr(RCJacobian jacobian, double[] arrT,
+			double[] arrb, double[] eta, AbstractRCAdjacencyMatrixBased mesh,
+			DirichletMask mask, double[] arrR) {
+
+		if (jacobian.symmetric != null) {
+
+			return computeRJrSymmetric(jacobian, arrT, arrb, eta, mesh, mask,
+					arrR);
+
+		}
+
+		int[] indexDiag = jacobian.indexDiag;
+		double[] free = mask.free;
+		double maxNorm = 0;
+
+		for (int i = 0; i < mesh.polygonsNumber; i++) {
+
+			double sum = 0;
+
+			for (int j = mesh.Mp[i]; j < mesh.Mp[i + 1]; j++) {
+				sum += arrT[j] * eta[mesh.Mi[j]];
+			}
+
+			double wetArea = PolygonGeometricalWetProperties.computeWetArea(
+					eta[i], mesh.bedRockElevation[i], mesh.porosity[i],
+					mesh.planArea[i]) * free[i];
+
+			// equation (A3)
+			arrR[i] = (wetArea * (eta[i] - mesh.bedRockElevation[i]) + sum
+					- arrb[i]) * free[i];
+
+			// equation (A6)
+			jacobian.values[indexDiag[i]] = arrT[indexDiag[i]] + wetArea;
+
+			maxNorm = Math.max(maxNorm, Math.abs(arrR[i]));
+
+		}
+
+		return maxNorm;
+
+	}
+
+	/**
+	 * Compute R and Jr symmetric.
+	 * 
+	 * @desc this method computes the same of computeRJr, reading the
+	 *       off-diagonal entries of T from the upper part of the symmetric
+	 *       storage of the Jacobian (they are the same of T): the row i adds
+	 *       its upper entries to its product and scatters them into the rows
+	 *       below, that are completed when they are reached.
+	 */
+	double computeRJrSymmetric(RCJacobian jacobian, double[] arrT,
+			double[] arrb, double[] eta, AbstractRCAdjacencyMatrixBased mesh,
+			DirichletMask mask, double[] arrR) {
+
+		RCSymmetricMatrix T = jacobian.symmetric;
+		int[] indexDiag = jacobian.indexDiag;
+		double[] free = mask.free;
+		double maxNorm = 0;
+
+		Arrays.fill(arrR, 0);
+
+		for (int i = 0; i < mesh.polygonsNumber; i++) {
+
+			double etai = eta[i];
+			double sum = arrR[i] + arrT[indexDiag[i]] * etai;
+
+			// the rows of Dirichlet cells have null off-diagonal entries
+			for (int k = T.Up[i]; k < T.Up[i + 1]; k++) {
+
+				sum += T.upper[k] * eta[T.Ui[k]];
+				arrR[T.Ui[k]] += T.upper[k] * etai;
+
+			}
+
+			double wetArea = PolygonGeometricalWetProperties.computeWetArea(
+					etai, mesh.bedRockElevation[i], mesh.porosity[i],
+					mesh.planArea[i]) * free[i];
+
+			// equation (A3)
+			arrR[i] = (wetArea * (etai - mesh.bedRockElevation[i]) + sum
+					- arrb[i]) * free[i];
+
+			// equation (A6)
+			jacobian.values[indexDiag[i]] = arrT[indexDiag[i]] + wetArea;
+
+			maxNorm = Math.max(maxNorm, Math.abs(arrR[i]));
+
+		}
+
+		return maxNorm;
+
+	}
+
+}
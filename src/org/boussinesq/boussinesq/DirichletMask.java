@@ -0,0 +1,259 @@
+package org.boussinesq.boussinesq;
+
+import org.meshNumericalMethods.unstructuredMesh.adjacencyMatrixBased.AbstractRCAdjacencyMatrixBased;
+
+/**
+ * The Class DirichletMask.
+ *
+ * @desc this class holds the head-based Boundary Conditions (Dirichlet) of
+ *       the domain, computed once from the array of the eta of Dirichlet
+ *       cells: a cell is a free cell if its eta is less than or equal to
+ *       the NOVALUE, otherwise it is a Dirichlet cell. The kernels of the
+ *       Newton's method compute every cell in the same way and multiply the
+ *       terms of the free cells by the weight free[i] (1 for free cells, 0
+ *       for Dirichlet cells), so they have no branch; the entries of T that
+ *       couple a Dirichlet cell are listed once, so the matrix of equation
+ *       (30) of [Cordano & Rigon, 2012] is obtained from T without
+ *       inspecting every entry. Without Dirichlet cells all the lists are
+ *       empty and the simulation costs as a no-flux one.
+ */
+public class DirichletMask {
+
+	/** The weight of every cell: 1 for free cells, 0 for Dirichlet cells. */
+	public double[] free;
+
+	/** The Dirichlet cells. */
+	public int[] dirichletCells;
+
+	/** The free cells. */
+	public int[] freeCells;
+
+	/**
+	 * The off-diagonal entries of T that couple a Dirichlet cell: all the
+	 * off-diagonal entries of the rows of the Dirichlet cells, and the entries
+	 * of the rows of free cells in the columns of Dirichlet cells.
+	 */
+	public int[] maskedEntries;
+
+	/** The free cells adjacent to a Dirichlet cell. */
+	public int[] boundaryRows;
+
+	/** The beginning of the entries of every boundary row in boundaryEntries. */
+	public int[] boundaryPointer;
+
+	/** The entries of the boundary rows in the columns of Dirichlet cells. */
+	public int[] boundaryEntries;
+
+	/** The array of the indices of the diagonal entries. */
+	int[] indexDiag;
+
+	/**
+	 * Instantiates a new Dirichlet mask.
+	 *
+	 * @param mesh
+	 *            the object mesh is passed so every field of the mesh class is
+	 *            available
+	 * @param indexDiag
+	 *            the array of the indices of the diagonal entries
+	 */
+	public DirichletMask(AbstractRCAdjacencyMatrixBased mesh, int[] indexDiag) {
+
+		this.indexDiag = indexDiag;
+
+		int n = mesh.polygonsNumber;
+		free = new double[n];
+
+		int dirichletNumber = 0;
+
+		for (int i = 0; i < n; i++) {
+
+			if (mesh.etaDirichlet[i] <= mesh.NOVALUE) {
+
+				free[i] = 1;
+
+			} else {
+
+				dirichletNumber++;
+
+			}
+
+		}
+
+		dirichletCells = new int[dirichletNumber];
+		freeCells = new int[n - dirichletNumber];
+
+		int maskedNumber = 0;
+		int boundaryRowsNumber = 0;
+		int boundaryEntriesNumber = 0;
+
+		for (int i = 0, d = 0, f = 0; i < n; i++) {
+
+			if (free[i] == 0) {
+
+				dirichletCells[d++] = i;
+				maskedNumber += mesh.Mp[i + 1] - mesh.Mp[i] - 1;
+				continue;
+
+			}
+
+			freeCells[f++] = i;
+
+			int coupling = countCoupling(i, mesh);
+
+			if (coupling > 0) {
+
+				maskedNumber += coupling;
+				boundaryRowsNumber++;
+				boundaryEntriesNumber += coupling;
+
+			}
+
+		}
+
+		maskedEntries = new int[maskedNumber];
+		boundaryRows = new int[boundaryRowsNumber];
+		boundaryPointer = new int[boundaryRowsNumber + 1];
+		boundaryEntries = new int[boundaryEntriesNumber];
+
+		int masked = 0;
+		int row = 0;
+		int entry = 0;
+
+		for (int i = 0; i < n; i++) {
+
+			for (int j = mesh.Mp[i]; j < mesh.Mp[i + 1]; j++) {
+
+				int k = mesh.Mi[j];
+
+				if (k == i) {
+
+					continue;
+
+				}
+
+				if (free[i] == 0) {
+
+					maskedEntries[masked++] = j;
+
+				} else if (free[k] == 0) {
+
+					maskedEntries[masked++] = j;
+					boundaryEntries[entry++] = j;
+
+				}
+
+			}
+
+			if (free[i] == 1 && entry > boundaryPointer[row]) {
+
+				boundaryRows[row++] = i;
+				boundaryPointer[row] = entry;
+
+			}
+
+		}
+
+	}
+
+	/**
+	 * Count coupling.
+	 *
+	 * @return the number of Dirichlet cells adjacent to the cell i
+	 */
+	int countCoupling(int i, AbstractRCAdjacencyMatrixBased mesh) {
+
+		int coupling = 0;
+
+		for (int j = mesh.Mp[i]; j < mesh.Mp[i + 1]; j++) {
+
+			if (mesh.Mi[j] != i && free[mesh.Mi[j]] == 0) {
+
+				coupling++;
+
+			}
+
+		}
+
+		return coupling;
+
+	}
+
+	/**
+	 * Checks for Dirichlet cells.
+	 *
+	 * @return true if the domain has Dirichlet cells
+	 */
+	public boolean hasDirichletCells() {
+
+		return dirichletCells.length > 0;
+
+	}
+
+	/**
+	 * Impose Dirichlet.
+	 *
+	 * @desc this method sets the eta of Dirichlet cells to their known value
+	 *
+	 * @param eta
+	 *            the piezometric head
+	 */
+	public void imposeDirichlet(double[] eta,
+			AbstractRCAdjacencyMatrixBased mesh) {
+
+		for (int d = 0; d < dirichletCells.length; d++) {
+
+			eta[dirichletCells[d]] = mesh.etaDirichlet[dirichletCells[d]];
+
+		}
+
+	}
+
+	/**
+	 * Apply to T.
+	 *
+	 * @desc this method applies equation (30) of [Cordano & Rigon, 2012], in
+	 *       place: the flow from the Dirichlet cells is moved into the known
+	 *       terms of the adjacent free cells, then the entries of T that
+	 *       couple a Dirichlet cell are set to zero and the diagonal entries
+	 *       of the Dirichlet cells to 1, so the eta of Dirichlet cells doesn't
+	 *       change in the Newton's loop. The diagonal entries of the free
+	 *       cells keep the flow to the Dirichlet cells.
+	 *
+	 * @param matT
+	 *            the array of T in Row Compressed Form, with the diagonal
+	 * @param arrb
+	 *            the array of known terms
+	 */
+	public void applyToT(double[] matT, double[] arrb,
+			AbstractRCAdjacencyMatrixBased mesh) {
+
+		for (int r = 0; r < boundaryRows.length; r++) {
+
+			double sum = 0;
+
+			for (int p = boundaryPointer[r]; p < boundaryPointer[r + 1]; p++) {
+
+				int j = boundaryEntries[p];
+				sum += matT[j] * mesh.etaDirichlet[mesh.Mi[j]];
+
+			}
+
+			arrb[boundaryRows[r]] = arrb[boundaryRows[r]] - sum;
+
+		}
+
+		for (int p = 0; p < maskedEntries.length; p++) {
+
+			matT[maskedEntries[p]] = 0;
+
+		}
+
+		for (int d = 0; d < dirichletCells.length; d++) {
+
+			matT[indexDiag[dirichletCells[d]]] = 1;
+
+		}
+
+	}
+
+}
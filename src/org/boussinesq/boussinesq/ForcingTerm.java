@@ -0,0 +1,77 @@
+package org.boussinesq.boussinesq;
+
+/**
+ * The Class ForcingTerm.
+ *
+ * @desc this class computes the forcing term of the inexact Newton's method
+ *       with the second choice of [Eisenstat & Walker, 1996]: the linear
+ *       system of the iteration k is solved only until
+ *       ||R + Jr c|| <= eta_k ||R||, with
+ *       eta_k = GAMMA (||R_k|| / ||R_k-1||)^ALPHA. The first iterations,
+ *       far from the solution, are solved roughly; eta decreases as fast as
+ *       the Newton's method converges. The safeguard keeps eta from dropping
+ *       too fast after a single good iteration.
+ */
+public class ForcingTerm {
+
+	/** The forcing term of the first iteration. */
+	public static final double ETA0 = 0.5;
+
+	/** The max forcing term. */
+	public static final double ETAMAX = 0.9;
+
+	/** The parameters of the second choice of Eisenstat & Walker. */
+	public static final double GAMMA = 0.9;
+	public static final double ALPHA = 2;
+
+	/** The forcing term of the last iteration. */
+	double eta;
+
+	/** The 2-norm of the residual function at the last iteration. */
+	double residualNormOld;
+
+	/**
+	 * Reset.
+	 *
+	 * @desc this method is called at the beginning of every Newton's loop
+	 */
+	public void reset() {
+
+		eta = ETA0;
+		residualNormOld = 0;
+
+	}
+
+	/**
+	 * Compute forcing term.
+	 *
+	 * @param residualNorm
+	 *            the 2-norm of the residual function at this iteration
+	 *
+	 * @return the forcing term of this iteration
+	 */
+	public double computeForcingTerm(double residualNorm) {
+
+		if (residualNormOld > 0) {
+
+			double etaNew = GAMMA
+					* Math.pow(residualNorm / residualNormOld, ALPHA);
+			double safeguard = GAMMA * Math.pow(eta, ALPHA);
+
+			if (safeguard > 0.1) {
+
+				etaNew = Math.max(etaNew, safeguard);
+
+			}
+
+			eta = Math.min(ETAMAX, etaNew);
+
+		}
+
+		residualNormOld = residualNorm;
+
+		return eta;
+
+	}
+
+}
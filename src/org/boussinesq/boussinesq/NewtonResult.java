@@ -0,0 +1,78 @@
+package org.boussinesq.boussinesq;
+
+/**
+ * The Class NewtonResult.
+ *
+ * @desc this class holds the outcome of the last Newton's loop: the number of
+ *       iterations, the norms of the residual function and of the last
+ *       correction, and the reason why the loop stopped. The object is owned
+ *       by the solver and rewritten at every time step.
+ */
+public class NewtonResult {
+
+	/** The loop stopped because the residual function met its tolerance. */
+	public static final String RESIDUAL = "residual";
+
+	/** The loop stopped because the correction met its tolerance. */
+	public static final String UPDATE = "update";
+
+	/** The loop stopped at the max number of iterations, without converging. */
+	public static final String MAXITERATIONS = "max iterations";
+
+	/** The number of Newton's iterations, i.e. of linear systems solved. */
+	public int iterations;
+
+	/** The max norm of the residual function at the first iteration [m^3]. */
+	public double initialResidualNorm;
+
+	/** The max norm of the last residual function computed [m^3]. */
+	public double residualNorm;
+
+	/** The max norm of the last correction of eta [m]. */
+	public double updateNorm;
+
+	/** The reason why the loop stopped. */
+	public String stopReason;
+
+	/** The flag that tells if the loop converged. */
+	public boolean converged;
+
+	/**
+	 * Reset.
+	 *
+	 * @desc this method is called at the beginning of every Newton's loop
+	 */
+	public void reset() {
+
+		iterations = 0;
+		initialResidualNorm = 0;
+		residualNorm = 0;
+		updateNorm = 0;
+		stopReason = null;
+		converged = false;
+
+	}
+
+	/**
+	 * Stop.
+	 *
+	 * @param reason
+	 *            the reason why the loop stopped
+	 */
+	public void stop(String reason) {
+
+		stopReason = reason;
+		converged = !reason.equals(MAXITERATIONS);
+
+	}
+
+	@Override
+	public String toString() {
+
+		return "Newton iterations: " + iterations + ", stopped by "
+				+ stopReason + " (residual " + residualNorm + " m^3, update "
+				+ updateNorm + " m)" + (converged ? "" : " NOT CONVERGED");
+
+	}
+
+}
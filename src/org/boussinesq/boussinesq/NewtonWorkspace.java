@@ -0,0 +1,137 @@
+package org.boussinesq.boussinesq;
+
+import org.boussinesq.RowCompressedForm.RCJacobian;
+import org.boussinesq.RowCompressedForm.RCReducedSystem;
+import org.meshNumericalMethods.unstructuredMesh.adjacencyMatrixBased.AbstractRCAdjacencyMatrixBased;
+
+/**
+ * The Class NewtonWorkspace.
+ *
+ * @desc this class holds all the arrays used by the Newton's method and by
+ *       the conjugate gradient. They are allocated once per simulation and
+ *       reused at every iteration, so the Newton's loop doesn't allocate
+ *       memory. The residual and the correction are dense arrays that are
+ *       passed to the conjugate gradient as they are, so no copy is made.
+ */
+public class NewtonWorkspace {
+
+	/** The Jacobian matrix. */
+	public RCJacobian jacobian;
+
+	/** The array of the residual function. */
+	public double[] residual;
+
+	/** The array of the correction of eta computed by the linear solver. */
+	public double[] correction;
+
+	/**
+	 * The linear system restricted to the free cells, null if the linear
+	 * solver works on all the cells (see enableReducedSystem).
+	 */
+	public RCReducedSystem reduced;
+
+	/**
+	 * Instantiates a new Newton workspace.
+	 *
+	 * @param mesh
+	 *            the object mesh is passed so every field of the mesh class is
+	 *            available
+	 */
+	public NewtonWorkspace(AbstractRCAdjacencyMatrixBased mesh) {
+
+		jacobian = new RCJacobian(mesh.polygonsNumber, mesh.Mp, mesh.Mi);
+
+		if (SolverOptions.SYMMETRICSTORAGE) {
+
+			jacobian.enableSymmetricStorage();
+
+		}
+
+		residual = new double[mesh.polygonsNumber];
+		correction = new double[mesh.polygonsNumber];
+
+	}
+
+	/**
+	 * Enable reduced system.
+	 *
+	 * @desc this method builds the linear system restricted to the free
+	 *       cells. The rows and the columns of the Dirichlet cells of the
+	 *       Jacobian are the ones of the identity, and their residual is zero,
+	 *       so their correction is zero and they are removed from the linear
+	 *       system.
+	 *
+	 * @param freeCells
+	 *            the free cells, in increasing order
+	 */
+	public void enableReducedSystem(int[] freeCells) {
+
+		reduced = new RCReducedSystem(jacobian.size, jacobian.Mp, jacobian.Mi,
+				freeCells, jacobian.symmetric != null);
+
+	}
+
+	/**
+	 * Update eta.
+	 *
+	 * @desc this method subtracts the correction from eta, in place
+	 *
+	 * @param eta
+	 *            the piezometric head
+	 *
+	 * @return the max norm of the correction
+	 */
+	public double updateEta(double[] eta) {
+
+		double maxCorrection = 0;
+
+		for (int i = 0; i < correction.length; i++) {
+
+			eta[i] = eta[i] - correction[i];
+			maxCorrection = Math.max(maxCorrection, Math.abs(correction[i]));
+
+		}
+
+		return maxCorrection;
+
+	}
+
+	/**
+	 * Residual norm.
+	 *
+	 * @return the 2-norm of the residual function
+	 */
+	public double residualNorm() {
+
+		double sum = 0;
+
+		for (int i = 0; i < residual.length; i++) {
+
+			sum += residual[i] * residual[i];
+
+		}
+
+		return Math.sqrt(sum);
+
+	}
+
+	/**
+	 * Residual max norm.
+	 *
+	 * @return the max norm of the residual function
+	 */
+	public double residualMaxNorm() {
+
+		double max = 0;
+
+		for (int i = 0; i < residual.length; i++) {
+
+			max = Math.max(max, Math.abs(residual[i]));
+
+		}
+
+		return max;
+
+	}
+
+}
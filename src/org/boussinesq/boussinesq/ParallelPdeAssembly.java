@@ -0,0 +1,229 @@
+package org.boussinesq.boussinesq;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.meshNumericalMethods.unstructuredMesh.adjacencyMatrixBased.AbstractRCAdjacencyMatrixBased;
+import org.partialDifferentialEquation.AbstractPdeTerm;
+
+/**
+ * The Class ParallelPdeAssembly.
+ *
+ * @desc this class assembles a PDE term, or runs any kernel on the rows of
+ *       the mesh, on a ForkJoinPool. The rows of the mesh are split into
+ *       blocks with about the same number of non-zero entries, and every
+ *       block is assembled by one task. Every entry is computed by the same
+ *       method of the term as in the serial assembly and written once, so
+ *       the result is bitwise identical to the serial one.
+ */
+public class ParallelPdeAssembly {
+
+	/** The min number of non-zero entries of a block. */
+	public static final int MINBLOCKSIZE = 4096;
+
+	/** The number of blocks for every thread, to balance the load. */
+	public static final int BLOCKSPERTHREAD = 4;
+
+	/** The pool of the assembly tasks. */
+	ForkJoinPool pool;
+
+	/** The array of the first row of every block, blocks + 1 entries. */
+	int[] blocks;
+
+	/** The array Mp the blocks are computed for. */
+	int[] Mp;
+
+	/**
+	 * Instantiates a new parallel assembly.
+	 *
+	 * @param threads
+	 *            the number of threads of the pool
+	 */
+	public ParallelPdeAssembly(int threads) {
+
+		pool = new ForkJoinPool(threads);
+
+	}
+
+	/**
+	 * Assemble pde term.
+	 *
+	 * @desc this method computes the term for every entry of the matrix in Row
+	 *       Compressed Form, if the term is a matrix, or for every row
+	 *
+	 * @param u
+	 *            the array of the unknowns
+	 * @param mesh
+	 *            the object mesh is passed so every field of the mesh class is
+	 *            available
+	 * @param term
+	 *            the PDE term
+	 *
+	 * @return the array of the term
+	 */
+	public double[] assemblePdeTerm(final double[] u,
+			final AbstractRCAdjacencyMatrixBased mesh,
+			final AbstractPdeTerm term) {
+
+		final double[] array = new double[term.matrix ? mesh.Mi.length
+				: mesh.polygonsNumber];
+
+		invoke(mesh, new RowKernel() {
+
+			public void compute(int firstRow, int lastRow) {
+
+				if (term.matrix) {
+
+					for (int i = firstRow; i < lastRow; i++) {
+
+						for (int j = mesh.Mp[i]; j < mesh.Mp[i + 1]; j++) {
+
+							array[j] = term.computeMatrixTerm(u, mesh, i, j);
+
+						}
+
+					}
+
+				} else {
+
+					for (int i = firstRow; i < lastRow; i++) {
+
+						array[i] = term.computeArrayTerm(u, mesh, i);
+
+					}
+
+				}
+
+			}
+
+		});
+
+		return array;
+
+	}
+
+	/**
+	 * Invoke.
+	 *
+	 * @desc this method runs the kernel on every block of rows of the mesh;
+	 *       the kernel must write only into the rows of its block
+	 *
+	 * @param mesh
+	 *            the object mesh is passed so every field of the mesh class is
+	 *            available
+	 * @param kernel
+	 *            the kernel
+	 */
+	public void invoke(AbstractRCAdjacencyMatrixBased mesh, RowKernel kernel) {
+
+		if (Mp != mesh.Mp) {
+
+			blocks = computeBlocks(mesh);
+			Mp = mesh.Mp;
+
+		}
+
+		AssemblyTask task = new AssemblyTask(kernel, 0, blocks.length - 1);
+
+		if (blocks.length == 2) {
+
+			task.compute();
+
+		} else {
+
+			pool.invoke(task);
+
+		}
+
+	}
+
+	/**
+	 * Compute blocks.
+	 *
+	 * @desc this method splits the rows into blocks with about the same number
+	 *       of non-zero entries, the cost of the assembly of a row
+	 *
+	 * @return the array of the first row of every block
+	 */
+	int[] computeBlocks(AbstractRCAdjacencyMatrixBased mesh) {
+
+		int nnz = mesh.Mp[mesh.polygonsNumber];
+		int number = Math.max(1, Math.min(pool.getParallelism()
+				* BLOCKSPERTHREAD, nnz / MINBLOCKSIZE));
+
+		int[] blocks = new int[number + 1];
+		int row = 0;
+
+		for (int k = 1; k < number; k++) {
+
+			long target = (long) nnz * k / number;
+
+			while (mesh.Mp[row] < target) {
+
+				row++;
+
+			}
+
+			blocks[k] = row;
+
+		}
+
+		blocks[number] = mesh.polygonsNumber;
+
+		return blocks;
+
+	}
+
+	/**
+	 * The Interface RowKernel.
+	 *
+	 * @desc a kernel computes the rows from firstRow to lastRow - 1
+	 */
+	public interface RowKernel {
+
+		void compute(int firstRow, int lastRow);
+
+	}
+
+	/**
+	 * The Class AssemblyTask.
+	 *
+	 * @desc the task runs the kernel on the blocks from first to last - 1,
+	 *       splitting them in two halves until one block is left
+	 */
+	class AssemblyTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		RowKernel kernel;
+		int first;
+		int last;
+
+		AssemblyTask(RowKernel kernel, int first, int last) {
+
+			this.kernel = kernel;
+			this.first = first;
+			this.last = last;
+
+		}
+
+		protected void compute() {
+
+			if (last - first > 1) {
+
+				int middle = (first + last) >>> 1;
+
+				invokeAll(new AssemblyTask(kernel, first, middle),
+						new AssemblyTask(kernel, middle, last));
+
+				return;
+
+			}
+
+			kernel.compute(blocks[first], blocks[last]);
+
+		}
+
+	}
+
+}
@@ -0,0 +1,82 @@
+package org.boussinesq.boussinesq;
+
+import org.meshNumericalMethods.unstructuredMesh.adjacencyMatrixBased.AbstractRCAdjacencyMatrixBased;
+import org.partialDifferentialEquation.AbstractPdeTerm;
+import org.wordpress.growworkinghard.usefulClasses.TextIO;
+
+public class PdeTermB extends AbstractPdeTerm {
+
+	PdeTermB() {
+
+		matrix = false;
+
+	}
+	
+	public double computeArrayTerm(double[] u,
+			AbstractRCAdjacencyMatrixBased mesh, int polygonIndex) {
+		
+		double volume = PolygonGeometricalWetProperties.computeWaterVolume(
+				u[polygonIndex], mesh.bedRockElevation[polygonIndex],
+				mesh.porosity[polygonIndex],
+				mesh.planArea[polygonIndex]);
+
+		// delta t deve essere minore di 1/c
+		double temp = volume
+				+ TimeSimulation.timestep
+				* mesh.planArea[polygonIndex]
+				* mesh.source[polygonIndex]
+				- TimeSimulation.timestep
+				* mesh.planArea[polygonIndex]
+				* mesh.c[polygonIndex]
+				* Math.pow(volume / mesh.planArea[polygonIndex],
+						mesh.m[polygonIndex]);
+
+		// the negative terms are reported by reportNegativeTerms, on the
+		// thread of the caller, since this method runs on the threads of
+		// ParallelPdeAssembly
+		return temp;
+		
+	}
+
+	/**
+	 * Report negative terms.
+	 * 
+	 * @desc this method warns about every negative entry of the array of
+	 *       known terms, after its assembly; the cells are named in the
+	 *       numbering of the input files
+	 * 
+	 * @param arrb
+	 *            the array of known terms
+	 * @param cells
+	 *            the index in the mesh of every entry of arrb, or null if
+	 *            they are the same
+	 * @param originalIndex
+	 *            the index in the input files of every cell of the mesh, or
+	 *            null if the cells haven't been renumbered
+	 */
+	public static void reportNegativeTerms(double[] arrb, int[] cells,
+			int[] originalIndex) {
+
+		for (int i = 0; i < arrb.length; i++) {
+
+			if (arrb[i] < 0) {
+
+				int cell = cells == null ? i : cells[i];
+
+				TextIO.putln("WARNING!!!\nThe element "
+						+ (originalIndex == null ? cell : originalIndex[cell])
+						+ " of the array of known terms is NEGATIVE");
+
+			}
+
+		}
+
+	}
+
+	public double computeMatrixTerm(double[] u,
+			AbstractRCAdjacencyMatrixBased mesh, int polygonIndex, int sideIndex) {
+		
+		return 0;
+	}
+
+}
@@ -1,6 +1,7 @@
 package org.boussinesq.boussinesq;
 
 import org.boussinesq.boussinesq.TimeSimulation;
+import org.boussinesq.boussinesq.computationalDomain.ComputationalDomain;
 import org.meshNumericalMethods.unstructuredMesh.adjacencyMatrixBased.AbstractRCAdjacencyMatrixBased;
 import org.partialDifferentialEquation.AbstractPdeTerm;
 
@@ -25,6 +26,27 @@ public class PdeTermT extends AbstractPdeTerm {
 
 		double temp = 0;
 
+		if (mesh instanceof ComputationalDomain) {
+
+			// compiled topology: see ComputationalDomain.compileTopology
+			ComputationalDomain domain = (ComputationalDomain) mesh;
+			int neighbour = mesh.Mi[sideIndex];
+
+			if (neighbour != polygonIndex) {
+
+				temp = -domain.conductance[domain.sideIndex[sideIndex]]
+						* Math.max(
+								Math.max(0, u[neighbour]
+										- mesh.bedRockElevation[neighbour]),
+								Math.max(0, u[polygonIndex]
+										- mesh.bedRockElevation[polygonIndex]));
+
+			}
+
+			return temp;
+
+		}
+
 	
 		if (mesh.Mi[sideIndex] != polygonIndex) {
 
@@ -32,7 +54,7 @@ public class PdeTermT extends AbstractPdeTerm {
 //			System.out.println("Polygon Index= " + polygonIndex);
 //			System.out.println("Side Index= " + sideIndex);
 			
-			temp = -TimeSimulation.TIMESTEP
+			temp = -TimeSimulation.timestep
 					* (1 / mesh.euclideanDistance[(int) mesh.Ml[sideIndex] - 1])
 					* mesh.hydrConductivity[(int) mesh.Ml[sideIndex] - 1]
 					* mesh.lengthSides[(int) mesh.Ml[sideIndex] - 1]
@@ -53,4 +75,53 @@ public class PdeTermT extends AbstractPdeTerm {
 		return temp;
 	}
 
+	/**
+	 * Compute matrix by sides.
+	 * 
+	 * @desc this method computes T for every edge of the compiled topology of
+	 *       the domain, i.e. once for every shared side, and scatters it into
+	 *       the two off-diagonal entries and into the two diagonal entries
+	 *       (equations (20) and (21)); the diagonal entry of a cell without
+	 *       flow is 1. The off-diagonal entries are equal to the ones of
+	 *       computeMatrixTerm.
+	 * 
+	 * @param u
+	 *            the array of the unknowns
+	 * @param domain
+	 *            the computational domain, with the compiled topology
+	 * @param matT
+	 *            the array of T in Row Compressed Form, with null entries
+	 */
+	public void computeMatrixBySides(double[] u, ComputationalDomain domain,
+			double[] matT) {
+
+		for (int e = 0; e < domain.edgesNumber; e++) {
+
+			int a = domain.edgePolygonA[e];
+			int b = domain.edgePolygonB[e];
+			int entry = domain.edgeEntry[e];
+
+			double temp = -domain.conductance[domain.sideIndex[entry]]
+					* Math.max(Math.max(0, u[b] - domain.bedRockElevation[b]),
+							Math.max(0, u[a] - domain.bedRockElevation[a]));
+
+			matT[entry] = temp;
+			matT[domain.edgeTransposedEntry[e]] = temp;
+			matT[domain.diagonalEntry[a]] -= temp;
+			matT[domain.diagonalEntry[b]] -= temp;
+
+		}
+
+		for (int i = 0; i < domain.polygonsNumber; i++) {
+
+			if (matT[domain.diagonalEntry[i]] == 0) {
+
+				matT[domain.diagonalEntry[i]] = 1;
+
+			}
+
+		}
+
+	}
+
 }
@@ -0,0 +1,257 @@
+package org.boussinesq.boussinesq;
+
+import org.boussinesq.RowCompressedForm.RCJacobian;
+import org.boussinesq.RowCompressedForm.RCLinearSolver;
+import org.boussinesq.RowCompressedForm.RCLinearSolverFactory;
+import org.boussinesq.RowCompressedForm.RCReducedSystem;
+import org.meshNumericalMethods.unstructuredMesh.adjacencyMatrixBased.AbstractRCAdjacencyMatrixBased;
+
+import cern.colt.matrix.tdouble.algo.solver.IterativeSolverDoubleNotConvergedException;
+
+public class Solver {
+
+	ComputeJr cJr;
+	ComputeR cR;
+	ComputeRJr cRJr;
+	RCLinearSolver linearSolver;
+	ForcingTerm forcingTerm;
+	NewtonWorkspace workspace;
+	DirichletMask mask;
+
+	/** The outcome of the last Newton's loop. */
+	public NewtonResult result;
+
+	Solver(AbstractRCAdjacencyMatrixBased mesh, DirichletMask mask) {
+
+		this.mask = mask;
+
+		cJr = new ComputeJr();
+		cR = new ComputeR();
+		cRJr = new ComputeRJr();
+
+		workspace = new NewtonWorkspace(mesh);
+
+		if (SolverOptions.REDUCEDSYSTEM && mask.hasDirichletCells()) {
+
+			workspace.enableReducedSystem(mask.freeCells);
+
+			RCJacobian matrix = workspace.reduced.matrix;
+
+			linearSolver = new RCLinearSolverFactory().createLinearSolver(
+					SolverOptions.LINEARSOLVER, matrix.size, matrix.Mp,
+					matrix.Mi);
+
+		} else {
+
+			linearSolver = new RCLinearSolverFactory().createLinearSolver(
+					SolverOptions.LINEARSOLVER, mesh.polygonsNumber, mesh.Mp,
+					mesh.Mi);
+
+		}
+
+		forcingTerm = new ForcingTerm();
+		result = new NewtonResult();
+
+	}
+
+	/**
+	 * Newton iteration.
+	 * 
+	 * @desc this method computes the Newton's loop of the time step; eta is
+	 *       updated in place and the outcome is written in result
+	 * 
+	 * @param arrb
+	 *            the array of known terms
+	 * @param arrT
+	 *            the array of T with the Dirichlet mask applied
+	 * @param eta
+	 *            the array of eta at the previous time step
+	 * @param tolerance
+	 *            the machine epsilon
+	 * @param mesh
+	 *            the object mesh is passed so every field of the mesh class is
+	 *            available
+	 * 
+	 * @return the array of eta at the following time step
+	 * @throws IterativeSolverDoubleNotConvergedException
+	 *             the iterative solver double not converged exception
+	 */
+	public double[] newtonIteration(double[] arrb, double[] arrT,
+			double[] eta, double tolerance, AbstractRCAdjacencyMatrixBased mesh)
+			throws IterativeSolverDoubleNotConvergedException {
+
+		// T is constant during the Newton's loop
+		workspace.jacobian.updateT(arrT);
+
+		if (workspace.reduced != null) {
+
+			workspace.reduced.updateValues(workspace.jacobian);
+
+		}
+
+		result.reset();
+
+		double updateTolerance = computeUpdateTolerance(eta, tolerance);
+
+		newtonLoop(arrb, arrT, eta, updateTolerance, mesh);
+
+		return eta;
+
+	}
+
+	/**
+	 * Compute update tolerance.
+	 * 
+	 * @desc this method computes the tolerance on the max norm of the
+	 *       correction of eta. It is never less than the machine epsilon times
+	 *       the max norm of eta: a smaller correction doesn't change eta, and
+	 *       the loop would never stop.
+	 * 
+	 * @param tolerance
+	 *            the machine epsilon
+	 * 
+	 * @return the tolerance on the correction of eta
+	 */
+	double computeUpdateTolerance(double[] eta, double tolerance) {
+
+		double maxEta = 0;
+
+		for (int i = 0; i < eta.length; i++) {
+
+			maxEta = Math.max(maxEta, Math.abs(eta[i]));
+
+		}
+
+		return Math.max(SolverOptions.UPDATEABSOLUTETOLERANCE
+				+ SolverOptions.UPDATERELATIVETOLERANCE * maxEta, tolerance
+				* maxEta);
+
+	}
+
+	/**
+	 * Newton loop.
+	 * 
+	 * @desc this method computes the Newton's loop until the residual function
+	 *       or the correction of eta meet their tolerance (see SolverOptions),
+	 *       or until the max number of iterations; the outcome is written in
+	 *       result
+	 * 
+	 * @param updateTolerance
+	 *            the tolerance on the max norm of the correction of eta
+	 * 
+	 * @throws IterativeSolverDoubleNotConvergedException
+	 *             the iterative solver double not converged exception
+	 */
+	void newtonLoop(double[] arrb, double[] arrT, double[] eta,
+			double updateTolerance, AbstractRCAdjacencyMatrixBased mesh)
+			throws IterativeSolverDoubleNotConvergedException {
+
+		double residualTolerance = 0;
+
+		forcingTerm.reset();
+
+		while (true) {
+
+			if (SolverOptions.FUSEDKERNELS) {
+
+				// compute Jr, the residual function and its max norm
+				result.residualNorm = cRJr.computeRJr(workspace.jacobian,
+						arrT, arrb, eta, mesh, mask, workspace.residual);
+
+			} else {
+
+				// compute Jr
+				cJr.computeJr(workspace.jacobian, arrT, eta, mesh, mask);
+
+				// compute the residual function
+				cR.computeR(arrT, arrb, eta, mesh, mask, workspace.residual);
+
+				result.residualNorm = workspace.residualMaxNorm();
+
+			}
+
+			if (result.iterations == 0) {
+
+				residualTolerance = SolverOptions.RESIDUALABSOLUTETOLERANCE
+						+ SolverOptions.RESIDUALRELATIVETOLERANCE
+						* result.residualNorm;
+				result.initialResidualNorm = result.residualNorm;
+
+			}
+
+			if (result.residualNorm <= residualTolerance) {
+
+				result.stop(NewtonResult.RESIDUAL);
+				return;
+
+			}
+
+			if (result.iterations == SolverOptions.NEWTONMAXITERATIONS) {
+
+				result.stop(NewtonResult.MAXITERATIONS);
+				return;
+
+			}
+
+			// the linear system is solved only as much as the Newton's
+			// iteration needs: ||R + Jr c|| <= eta_k ||R||
+			if (SolverOptions.INEXACTNEWTON) {
+
+				double residualNorm = workspace.residualNorm();
+
+				linearSolver.setAbsoluteTolerance(forcingTerm
+						.computeForcingTerm(residualNorm) * residualNorm);
+
+			}
+
+			// the previous correction is the initial guess
+			solveLinearSystem();
+
+			// compute the new eta for every cell and the max correction
+			result.updateNorm = workspace.updateEta(eta);
+			result.iterations++;
+
+			if (result.updateNorm <= updateTolerance) {
+
+				result.stop(NewtonResult.UPDATE);
+				return;
+
+			}
+
+		}
+
+	}
+
+	/**
+	 * Solve linear system.
+	 * 
+	 * @desc this method solves the linear system of the Newton's iteration,
+	 *       Jr c = R. With the reduced system only the free cells are solved,
+	 *       and the correction of the Dirichlet cells stays zero.
+	 * 
+	 * @throws IterativeSolverDoubleNotConvergedException
+	 *             the iterative solver double not converged exception
+	 */
+	void solveLinearSystem() throws IterativeSolverDoubleNotConvergedException {
+
+		RCReducedSystem reduced = workspace.reduced;
+
+		if (reduced == null) {
+
+			linearSolver.solve(workspace.residual, workspace.jacobian,
+					workspace.correction);
+
+			return;
+
+		}
+
+		reduced.updateDiagonal(workspace.jacobian);
+		reduced.restrict(workspace.residual);
+
+		linearSolver.solve(reduced.b, reduced.matrix, reduced.x);
+
+		reduced.prolong(workspace.correction);
+
+	}
+
+}
@@ -0,0 +1,100 @@
+package org.boussinesq.boussinesq;
+
+public class SolverOptions {
+
+	/**
+	 * The linear solver of the Newton's method: "cg" for the preconditioned
+	 * conjugate gradient, "cholesky" for the sparse Cholesky factorization,
+	 * "auto" to choose the fastest solver on the mesh; see
+	 * RCLinearSolverFactory for all the names.
+	 */
+	public static String LINEARSOLVER = "cg";
+
+	/**
+	 * The inexact Newton's method: the linear systems are solved with the
+	 * Eisenstat-Walker forcing terms (see ForcingTerm) instead of the full
+	 * tolerance of the linear solver.
+	 */
+	public static boolean INEXACTNEWTON = true;
+
+	/**
+	 * The tolerances of the Newton's method. The loop stops when the max norm
+	 * of the residual function (the mass balance of the cells, in m^3) is
+	 * less than RESIDUALABSOLUTETOLERANCE + RESIDUALRELATIVETOLERANCE times
+	 * its value at the first iteration, or when the max norm of the
+	 * correction of eta (in m) is less than UPDATEABSOLUTETOLERANCE +
+	 * UPDATERELATIVETOLERANCE times the max norm of eta. A null tolerance
+	 * disables its term.
+	 */
+	public static double RESIDUALABSOLUTETOLERANCE = 1e-9;
+	public static double RESIDUALRELATIVETOLERANCE = 0;
+	public static double UPDATEABSOLUTETOLERANCE = 1e-9;
+	public static double UPDATERELATIVETOLERANCE = 0;
+
+	/** The max number of iterations of the Newton's method. */
+	public static int NEWTONMAXITERATIONS = 50;
+
+	/**
+	 * The number of threads of the assembly of T and of the known terms, 1 for
+	 * the serial assembly.
+	 */
+	public static int ASSEMBLYTHREADS = Runtime.getRuntime()
+			.availableProcessors();
+
+	/**
+	 * The assembly of T: "entries" to compute T for every entry of the matrix
+	 * (on ASSEMBLYTHREADS threads), "sides" to compute it once for every
+	 * shared side (serial).
+	 */
+	public static String TASSEMBLY = "entries";
+
+	/**
+	 * The fused kernels: T, its diagonal and the known terms are assembled in
+	 * one pass over the rows at every time step, and the residual function,
+	 * the diagonal of the Jacobian and the max norm of the residual in one
+	 * pass at every Newton's iteration.
+	 */
+	public static boolean FUSEDKERNELS = true;
+
+	/**
+	 * The symmetric storage of the Jacobian: the conjugate gradient and the
+	 * residual function read only the diagonal and the upper part of T and
+	 * of the Jacobian (see RCSymmetricMatrix).
+	 */
+	public static boolean SYMMETRICSTORAGE = true;
+
+	/**
+	 * The renumbering of the cells of the catchments after loading: "rcm" for
+	 * the reverse Cuthill-McKee ordering, "none" to keep the numbering of the
+	 * input files. The output files are always in the input numbering.
+	 */
+	public static String REORDERING = "none";
+
+	/**
+	 * The reduced linear system: with Dirichlet cells, the linear solver of
+	 * the Newton's method works only on the free cells (see
+	 * NewtonWorkspace.enableReducedSystem).
+	 */
+	public static boolean REDUCEDSYSTEM = true;
+
+	/**
+	 * The active set: every time step is solved only on the wet cells, the
+	 * cells with a source and the cells adjacent to them; the other cells
+	 * are dry and stay on the bedrock (see ActiveSet).
+	 */
+	public static boolean ACTIVESET = false;
+
+	/**
+	 * The adaptive time step: the deltat grows after the time steps that
+	 * converge in few Newton's iterations and shrinks after the slow ones; a
+	 * time step that doesn't converge is solved again with a smaller deltat
+	 * (see TimeStepController). The steps end on the changes of the rain
+	 * and on the output times. Otherwise deltat is TimeSimulation.TIMESTEP.
+	 */
+	public static boolean ADAPTIVETIMESTEP = false;
+
+	/** The min and max deltat of the adaptive time step [s]. */
+	public static double MINTIMESTEP = 60;
+	public static double MAXTIMESTEP = 3600 * 24;
+
+}
@@ -2,10 +2,20 @@ package org.boussinesq.boussinesq;
 
 public class TimeSimulation {
 	
-	/** The deltat. */
-	public final static int TIMESTEP = 3600;
+	/** The deltat: the interval of the rain time series. */
+	public static int TIMESTEP = 3600;
 
 	/** legth of the simulation */
-	public final static int SIMULATIONTIME = 3600 * 35;
+	public static int SIMULATIONTIME = 3600 * 35;
+
+	/** The interval of the output files, a multiple of TIMESTEP. */
+	public static int OUTPUTTIMESTEP = 3600;
+
+	/**
+	 * The deltat of the time step that is being solved, read by the terms of
+	 * the equation: TIMESTEP, or the one chosen by TimeStepController with
+	 * the adaptive time step.
+	 */
+	public static double timestep = TIMESTEP;
 
 }
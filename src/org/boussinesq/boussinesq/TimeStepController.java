@@ -0,0 +1,202 @@
+package org.boussinesq.boussinesq;
+
+import org.meshNumericalMethods.unstructuredMesh.adjacencyMatrixBased.AbstractRCAdjacencyMatrixBased;
+
+/**
+ * The Class TimeStepController.
+ *
+ * @desc this class chooses the deltat of the adaptive time step from the
+ *       number of Newton's iterations of the last time step: deltat grows by
+ *       GROWTH after FEWITERATIONS or less, and shrinks by SHRINK after
+ *       SLOWITERATIONS or more; a time step that doesn't converge is
+ *       rejected and solved again with deltat shrunk, until
+ *       SolverOptions.MINTIMESTEP. The end of every time step is the next
+ *       change of the rain, the next output time or the end of the
+ *       simulation, if they come first; the interval up to it is split in
+ *       time steps of the same length, whose ends are computed from the
+ *       beginning of the interval, so no short step is left at its end. A
+ *       time closer than SNAP * SolverOptions.MINTIMESTEP to one of these
+ *       ends is taken as the end itself.
+ */
+public class TimeStepController {
+
+	/** The factor of deltat after a fast time step. */
+	public static final double GROWTH = 2;
+
+	/** The factor of deltat after a slow or rejected time step. */
+	public static final double SHRINK = 0.5;
+
+	/** The max number of Newton's iterations of a fast time step. */
+	public static final int FEWITERATIONS = 3;
+
+	/** The min number of Newton's iterations of a slow time step. */
+	public static final int SLOWITERATIONS = 8;
+
+	/** The fraction of the min deltat under which two times are the same. */
+	public static final double SNAP = 1e-6;
+
+	/** The deltat proposed for the next time step [s]. */
+	public double timestep;
+
+	/** The number of accepted time steps. */
+	public int acceptedSteps;
+
+	/** The number of rejected time steps. */
+	public int rejectedSteps;
+
+	/** The beginning and the end of the interval split in time steps [s]. */
+	double intervalStart;
+	double intervalEnd;
+
+	/** The deltat the interval was split with [s]. */
+	double intervalTimestep;
+
+	/** The number of time steps of the interval, and the one of the last. */
+	int intervalSteps;
+	int intervalStep;
+
+	/** The end of the last time step [s]. */
+	double stepEnd = Double.NaN;
+
+	/**
+	 * Instantiates a new time step controller, starting from
+	 * TimeSimulation.TIMESTEP.
+	 */
+	public TimeStepController() {
+
+		timestep = Math.max(SolverOptions.MINTIMESTEP,
+				Math.min(SolverOptions.MAXTIMESTEP, TimeSimulation.TIMESTEP));
+
+	}
+
+	/**
+	 * Compute step end.
+	 * 
+	 * @desc this method computes the end of the time step that begins at
+	 *       time: the next change of the rain, the next output time and the
+	 *       end of the simulation are never crossed. The interval is split
+	 *       again if the time step doesn't begin at the end of the last one
+	 *       or deltat has changed.
+	 * 
+	 * @param time
+	 *            the beginning of the time step [s]
+	 * @param mesh
+	 *            the object mesh is passed so every field of the mesh class is
+	 *            available
+	 * 
+	 * @return the end of the time step [s]
+	 */
+	public double computeStepEnd(double time,
+			AbstractRCAdjacencyMatrixBased mesh) {
+
+		// the ends closer than SNAP * MINTIMESTEP to time are passed, so
+		// the rounding doesn't leave a degenerate time step before them
+		double snapped = time + SNAP * SolverOptions.MINTIMESTEP;
+
+		double limit = Math.min(TimeSimulation.SIMULATIONTIME,
+				(Math.floor(snapped / TimeSimulation.OUTPUTTIMESTEP) + 1)
+						* TimeSimulation.OUTPUTTIMESTEP);
+
+		// the intervals of the rain series with the same rain are merged
+		int k = computeRainIndex(time);
+		double forcingEnd = (double) (k + 1) * TimeSimulation.TIMESTEP;
+
+		while (forcingEnd < limit && k + 1 < mesh.rainHour.length
+				&& mesh.rainHour[k + 1] == mesh.rainHour[k]) {
+
+			k++;
+			forcingEnd += TimeSimulation.TIMESTEP;
+
+		}
+
+		limit = Math.min(limit, forcingEnd);
+
+		if (time != stepEnd || limit != intervalEnd
+				|| timestep != intervalTimestep
+				|| intervalStep == intervalSteps) {
+
+			intervalStart = time;
+			intervalEnd = limit;
+			intervalTimestep = timestep;
+			intervalSteps = (int) Math.max(1,
+					Math.ceil((limit - time) / timestep));
+			intervalStep = 0;
+
+		}
+
+		intervalStep++;
+
+		stepEnd = intervalStep == intervalSteps ? intervalEnd : intervalStart
+				+ intervalStep * (intervalEnd - intervalStart) / intervalSteps;
+
+		return stepEnd;
+
+	}
+
+	/**
+	 * Compute rain index.
+	 * 
+	 * @return the index of the interval of the rain series where the time
+	 *         step that begins at time is
+	 */
+	public int computeRainIndex(double time) {
+
+		return (int) ((time + SNAP * SolverOptions.MINTIMESTEP)
+				/ TimeSimulation.TIMESTEP);
+
+	}
+
+	/**
+	 * Accept.
+	 * 
+	 * @desc this method updates deltat after the time step of length
+	 *       timestep, and tells if the solution is accepted. A time step that
+	 *       doesn't converge at the min deltat is accepted.
+	 * 
+	 * @param result
+	 *            the outcome of the Newton's loop, or null if the time step
+	 *            had nothing to solve
+	 * @param converged
+	 *            false if the linear solver failed
+	 * @param timestep
+	 *            the deltat of the time step [s]
+	 * 
+	 * @return true if the solution is accepted
+	 */
+	public boolean accept(NewtonResult result, boolean converged,
+			double timestep) {
+
+		converged = converged && (result == null || result.converged);
+
+		if (!converged && timestep > SolverOptions.MINTIMESTEP) {
+
+			this.timestep = Math.max(SolverOptions.MINTIMESTEP, timestep
+					* SHRINK);
+			rejectedSteps++;
+
+			return false;
+
+		}
+
+		int iterations = result == null ? 0 : result.iterations;
+
+		if (!converged || iterations >= SLOWITERATIONS) {
+
+			this.timestep = Math.max(SolverOptions.MINTIMESTEP, timestep
+					* SHRINK);
+
+		} else if (iterations <= FEWITERATIONS) {
+
+			// a step shortened by a change of the rain doesn't limit the next
+			this.timestep = Math.min(SolverOptions.MAXTIMESTEP,
+					Math.max(this.timestep, timestep * GROWTH));
+
+		}
+
+		acceptedSteps++;
+
+		return true;
+
+	}
+
+}
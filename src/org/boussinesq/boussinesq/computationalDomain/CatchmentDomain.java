@@ -2,25 +2,112 @@ package org.boussinesq.boussinesq.computationalDomain;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.util.Properties;
 
 import org.wordpress.growworkinghard.usefulClasses.FileRead;
 import org.wordpress.growworkinghard.usefulClasses.GUIpathFileRead;
 
 public class CatchmentDomain extends ComputationalDomain {
 
-	GUIpathFileRead gui = new GUIpathFileRead();
+	GUIpathFileRead gui;
 	
 	public String dataFolder;
 	public File dataPath;
 	
+	/** The paths of the input files out of the data folder, by file name. */
+	public Properties inputFiles;
+	
 	public CatchmentDomain() throws FileNotFoundException {
 		
 		NOVALUE = -9999;
 		
+		gui = new GUIpathFileRead();
+		
 		getAdjacencyMatrix();
 		getGridProperties();
 		getPolygonProperties();
 		getSideProperties();
+
+		applyReordering();
+	}
+	
+	/**
+	 * Instantiates a new catchment domain from a data folder.
+	 * 
+	 * @desc the arrays are read from the folder without opening any dialog;
+	 *       the files must have the same names used in data/example*
+	 *       (Mp, Mj, Ml, vLengthSides, vEuclideanDistance, ...)
+	 * 
+	 * @param dataPath
+	 *            the folder that holds the input files
+	 * @throws FileNotFoundException
+	 *             the file not found exception
+	 */
+	public CatchmentDomain(File dataPath) throws FileNotFoundException {
+		
+		this(dataPath, new Properties());
+		
+	}
+	
+	/**
+	 * Instantiates a new catchment domain from a data folder and a list of
+	 * input files.
+	 * 
+	 * @desc as the constructor from a data folder, but a file listed in
+	 *       inputFiles by its name (e.g. vSource=rain/storm1) is read from
+	 *       the path given there, relative to the data folder
+	 * 
+	 * @param dataPath
+	 *            the folder that holds the input files
+	 * @param inputFiles
+	 *            the paths of the files that aren't in the data folder
+	 * @throws FileNotFoundException
+	 *             the file not found exception
+	 */
+	public CatchmentDomain(File dataPath, Properties inputFiles)
+			throws FileNotFoundException {
+		
+		NOVALUE = -9999;
+		
+		this.dataPath = dataPath;
+		this.inputFiles = inputFiles;
+		dataFolder = dataPath.getName();
+		
+		getAdjacencyMatrix();
+		getGridProperties();
+		getPolygonProperties();
+		getSideProperties();
+
+		applyReordering();
+	}
+	
+	/**
+	 * Input file.
+	 * 
+	 * @desc if the domain has been instantiated from a data folder the file
+	 *       is searched by name into the list of input files and then into
+	 *       that folder, otherwise a dialog is opened to select it
+	 * 
+	 * @param title
+	 *            the title of the dialog
+	 * @param fileName
+	 *            the name of the file into the data folder
+	 * 
+	 * @return the input file
+	 */
+	File inputFile(String title, String fileName) {
+		
+		if (dataPath != null) {
+			
+			String path = inputFiles.getProperty(fileName, fileName);
+			File file = new File(path);
+			
+			return file.isAbsolute() ? file : new File(dataPath, path);
+			
+		}
+		
+		return gui.openDialog(title);
+		
 	}
 	
 	public void getAdjacencyMatrix() throws FileNotFoundException {
@@ -28,17 +115,16 @@ public class CatchmentDomain extends ComputationalDomain {
 		FileRead readMp = new FileRead();
 		/** The Mp. */
 		Mp = readMp
-				.readIntArray(gui.openDialog("Mp array"));
+				.readIntArray(inputFile("Mp array", "Mp"));
 
 		FileRead readMj = new FileRead();
 		/** The Mi. */
 		Mi = readMj
-				.readIntArray(gui.openDialog("Mj array"));
+				.readIntArray(inputFile("Mj array", "Mj"));
 
 		FileRead readMl = new FileRead();
 		/** The Ml. */
-		Ml = readMl.readDoubleArray(gui
-				.openDialog("Ml array"));
+		Ml = readMl.readDoubleArray(inputFile("Ml array", "Ml"));
 		
 	}
 
@@ -46,18 +132,18 @@ public class CatchmentDomain extends ComputationalDomain {
 		
 		FileRead readLS = new FileRead();
 		/** The length sides. */
-		lengthSides = readLS.readDoubleArray(gui
-				.openDialog("LENGTH SIDES OF POLYGONS array"));
+		lengthSides = readLS.readDoubleArray(inputFile(
+				"LENGTH SIDES OF POLYGONS array", "vLengthSides"));
 
 		FileRead readEucD = new FileRead();
 		/** The euclidean distance. */
-		euclideanDistance = readEucD.readDoubleArray(gui
-				.openDialog("EUCLIDEAN DISTANCE array"));
+		euclideanDistance = readEucD.readDoubleArray(inputFile(
+				"EUCLIDEAN DISTANCE array", "vEuclideanDistance"));
 		
 		FileRead readPlanArea = new FileRead();
 		/** The plan area. */
-		planArea = readPlanArea.readDoubleArray(gui
-				.openDialog("PLANIMETRIC POLYGONS AREA array"));
+		planArea = readPlanArea.readDoubleArray(inputFile(
+				"PLANIMETRIC POLYGONS AREA array", "vPlanarArea"));
 
 		polygonsNumber = planArea.length;
 		
@@ -67,35 +153,35 @@ public class CatchmentDomain extends ComputationalDomain {
 		
 		FileRead readEta = new FileRead();
 		/** The eta. */
-		eta = readEta.readDoubleArray(gui
-				.openDialog("INITIAL HYDRAULIC HEAD array"));
+		eta = readEta.readDoubleArray(inputFile(
+				"INITIAL HYDRAULIC HEAD array", "vEtaInitialCondV"));
 
 		FileRead readSource = new FileRead();
 		/** The source. per unit area of the polygon */
-		rainHour = readSource.readDoubleArray(gui
-				.openDialog("SOURCE array"));
+		rainHour = readSource.readDoubleArray(inputFile(
+				"SOURCE array", "vSource"));
 
 		FileRead readED = new FileRead();
 		/** The eta. */
-		etaDirichlet = readED.readDoubleArray(gui
-				.openDialog("HYDRAULIC HEAD DIRICHLET BC array"));
+		etaDirichlet = readED.readDoubleArray(inputFile(
+				"HYDRAULIC HEAD DIRICHLET BC array", "vEtaDrichelet"));
 
 		FileRead readBRE = new FileRead();
 		/** The bottom elevation. */
-		bedRockElevation = readBRE.readDoubleArray(gui
-				.openDialog("BEDROCK ELEVATION array"));
+		bedRockElevation = readBRE.readDoubleArray(inputFile(
+				"BEDROCK ELEVATION array", "vBedrock"));
 
 		FileRead readPor = new FileRead();
-		porosity = readPor.readDoubleArray(gui
-				.openDialog("POROSITY array"));
+		porosity = readPor.readDoubleArray(inputFile(
+				"POROSITY array", "vPorosity"));
 
 		FileRead readC = new FileRead();
-		c = readC.readDoubleArray(gui
-				.openDialog("C array - coeff of flow rate"));
+		c = readC.readDoubleArray(inputFile(
+				"C array - coeff of flow rate", "vC"));
 
 		FileRead readM = new FileRead();
-		m = readM.readDoubleArray(gui
-				.openDialog("M array - coeff of flow rate"));
+		m = readM.readDoubleArray(inputFile(
+				"M array - coeff of flow rate", "vM"));
 		
 	}
 
@@ -103,8 +189,8 @@ public class CatchmentDomain extends ComputationalDomain {
 		
 		FileRead readHydrC = new FileRead();
 		/** The hydr conductivity. */
-		hydrConductivity = readHydrC.readDoubleArray(gui
-				.openDialog("HYDRAULIC CONDUCTIVITY array"));
+		hydrConductivity = readHydrC.readDoubleArray(inputFile(
+				"HYDRAULIC CONDUCTIVITY array", "vHydrConductivity"));
 		
 	}
 
@@ -1,16 +1,301 @@
 package org.boussinesq.boussinesq.computationalDomain;
 
-import java.io.File;
-//import java.io.FileNotFoundException;
-
+import org.boussinesq.RowCompressedForm.RCReverseCuthillMcKeeOrdering;
+import org.boussinesq.boussinesq.SolverOptions;
 import org.meshNumericalMethods.unstructuredMesh.adjacencyMatrixBased.AbstractRCAdjacencyMatrixBased;
 
 /**
- * The Class Grid.
+ * The Class ComputationalDomain.
+ *
+ * @desc the computational domain holds, next to the arrays read from the
+ *       files, the compiled topology: the index of the side of every entry of
+ *       the adjacency matrix and the static part of T for every side, so the
+ *       assembly of T doesn't convert Ml and doesn't gather the geometry of
+ *       the sides at every time step, and the list of the edges of the
+ *       adjacency graph, so T can be assembled once for every shared side.
+ *       The cells can be renumbered after loading to improve the locality of
+ *       the kernels; originalIndex maps them back to the input numbering.
  */
 public abstract class ComputationalDomain extends AbstractRCAdjacencyMatrixBased {
 
+	/**
+	 * The index of the side of every entry of the adjacency matrix, i.e.
+	 * Ml - 1; it is negative for the diagonal entries.
+	 */
+	public int[] sideIndex;
+
+	/** The index of the diagonal entry of every row. */
+	public int[] diagonalEntry;
+
+	/**
+	 * The edges of the adjacency graph, i.e. the off-diagonal entries (i, k)
+	 * with i < k: the two polygons, the entry (i, k) and the entry (k, i).
+	 */
+	public int edgesNumber;
+	public int[] edgePolygonA;
+	public int[] edgePolygonB;
+	public int[] edgeEntry;
+	public int[] edgeTransposedEntry;
+
+	/**
+	 * The index in the input files of every cell, null if the cells aren't
+	 * renumbered.
+	 */
+	public int[] originalIndex;
+
+	/** The conductance timestep * K * L / d of every side [m^2]. */
+	public double[] conductance;
+
+	/** The time step the conductance is computed for. */
+	double conductanceTimestep = Double.NaN;
+
+	/**
+	 * Compile topology.
+	 *
+	 * @desc this method computes the index of the sides and the edges the
+	 *       first time it is called, and the conductance of the sides when
+	 *       the time step changes. The conductance is computed with the
+	 *       operations of equation (21) in the same order, so T doesn't
+	 *       change.
+	 *
+	 * @param timestep
+	 *            the time step [s]
+	 */
+	public void compileTopology(double timestep) {
+
+		if (sideIndex == null) {
+
+			sideIndex = new int[Ml.length];
+
+			for (int j = 0; j < Ml.length; j++) {
+
+				sideIndex[j] = (int) Ml[j] - 1;
+
+			}
+
+			computeEdges();
+
+		}
+
+		if (timestep == conductanceTimestep) {
+
+			return;
+
+		}
+
+		conductance = new double[lengthSides.length];
+
+		for (int k = 0; k < conductance.length; k++) {
+
+			conductance[k] = timestep * (1 / euclideanDistance[k])
+					* hydrConductivity[k] * lengthSides[k];
+
+		}
+
+		conductanceTimestep = timestep;
+
+	}
+
+	/**
+	 * Compute edges.
+	 *
+	 * @desc this method computes the diagonal entry of every row and the edges
+	 *       of the adjacency graph; the transposed entry of (i, k) is searched
+	 *       into the row k, so the column indices of a row don't need to be
+	 *       sorted
+	 */
+	void computeEdges() {
+
+		diagonalEntry = new int[polygonsNumber];
+		edgesNumber = 0;
+
+		for (int i = 0; i < polygonsNumber; i++) {
+
+			for (int j = Mp[i]; j < Mp[i + 1]; j++) {
+
+				if (Mi[j] == i) {
+
+					diagonalEntry[i] = j;
+
+				} else if (Mi[j] > i) {
+
+					edgesNumber++;
+
+				}
+
+			}
+
+		}
+
+		edgePolygonA = new int[edgesNumber];
+		edgePolygonB = new int[edgesNumber];
+		edgeEntry = new int[edgesNumber];
+		edgeTransposedEntry = new int[edgesNumber];
+
+		int edge = 0;
+
+		for (int i = 0; i < polygonsNumber; i++) {
+
+			for (int j = Mp[i]; j < Mp[i + 1]; j++) {
+
+				int k = Mi[j];
+
+				if (k > i) {
+
+					edgePolygonA[edge] = i;
+					edgePolygonB[edge] = k;
+					edgeEntry[edge] = j;
+
+					for (int p = Mp[k]; p < Mp[k + 1]; p++) {
+
+						if (Mi[p] == i) {
+
+							edgeTransposedEntry[edge] = p;
+
+						}
+
+					}
+
+					edge++;
+
+				}
+
+			}
+
+		}
+
+	}
+
+	/**
+	 * Apply reordering.
+	 *
+	 * @desc this method renumbers the cells with the ordering chosen in
+	 *       SolverOptions.REORDERING: "rcm" for the reverse Cuthill-McKee
+	 *       ordering, "none" to keep the numbering of the input files. It is
+	 *       called once, after the domain is loaded.
+	 */
+	public void applyReordering() {
+
+		if (SolverOptions.REORDERING.equals("rcm")) {
+
+			reorder(new RCReverseCuthillMcKeeOrdering().computeOrdering(
+					polygonsNumber, Mp, Mi));
+
+		}
+
+	}
+
+	/**
+	 * Reorder.
+	 *
+	 * @desc this method renumbers the cells: the new cell k is the old cell
+	 *       perm[k]. The adjacency matrix and the arrays of the cells are
+	 *       permuted, the column indices of every row are kept sorted; the
+	 *       arrays of the sides don't change, because Ml holds the number of
+	 *       the sides.
+	 *
+	 * @param perm
+	 *            the permutation
+	 */
+	public void reorder(int[] perm) {
+
+		int[] pinv = new int[polygonsNumber];
+
+		for (int k = 0; k < polygonsNumber; k++) {
+
+			pinv[perm[k]] = k;
+
+		}
+
+		int[] newMp = new int[polygonsNumber + 1];
+		int[] newMi = new int[Mi.length];
+		double[] newMl = new double[Ml.length];
+
+		for (int k = 0; k < polygonsNumber; k++) {
+
+			int row = perm[k];
+			int first = newMp[k];
+			int last = first;
+
+			for (int j = Mp[row]; j < Mp[row + 1]; j++) {
+
+				// insertion sort by the new column index
+				int column = pinv[Mi[j]];
+				int p = last - 1;
+
+				while (p >= first && newMi[p] > column) {
+
+					newMi[p + 1] = newMi[p];
+					newMl[p + 1] = newMl[p];
+					p--;
+
+				}
+
+				newMi[p + 1] = column;
+				newMl[p + 1] = Ml[j];
+				last++;
+
+			}
+
+			newMp[k + 1] = last;
+
+		}
+
+		Mp = newMp;
+		Mi = newMi;
+		Ml = newMl;
+
+		planArea = permute(planArea, perm);
+		eta = permute(eta, perm);
+		etaDirichlet = permute(etaDirichlet, perm);
+		bedRockElevation = permute(bedRockElevation, perm);
+		porosity = permute(porosity, perm);
+		c = permute(c, perm);
+		m = permute(m, perm);
+		source = permute(source, perm);
+		outflow = permute(outflow, perm);
+
+		int[] newOriginalIndex = new int[polygonsNumber];
+
+		for (int k = 0; k < polygonsNumber; k++) {
+
+			newOriginalIndex[k] = originalIndex == null ? perm[k]
+					: originalIndex[perm[k]];
+
+		}
+
+		originalIndex = newOriginalIndex;
+
+		// the compiled topology refers to the old numbering
+		sideIndex = null;
+		conductanceTimestep = Double.NaN;
+
+	}
+
+	/**
+	 * Permute.
+	 *
+	 * @return the array whose k-th entry is the entry perm[k] of the array,
+	 *         null if the array is null
+	 */
+	double[] permute(double[] array, int[] perm) {
+
+		if (array == null) {
+
+			return null;
+
+		}
+
+		double[] permuted = new double[array.length];
+
+		for (int k = 0; k < perm.length; k++) {
+
+			permuted[k] = array[perm[k]];
+
+		}
 
+		return permuted;
 
+	}
 
-}
\ No newline at end of file
+}
@@ -2,9 +2,9 @@ package org.boussinesq.boussinesq.computationalDomain;
 
 import java.io.FileNotFoundException;
 
-import org.meshNumericalMethods.unstructuredMesh.adjacencyMatrixBased.AbstractRCAdjacencyMatrixBased;
+import org.boussinesq.boussinesq.TimeSimulation;
 
-public class SongDomain extends AbstractRCAdjacencyMatrixBased {
+public class SongDomain extends ComputationalDomain {
 	
 
 	public SongDomain() throws FileNotFoundException{
@@ -119,6 +119,10 @@ public class SongDomain extends AbstractRCAdjacencyMatrixBased {
 		m[polygonsNumber - 1] = 1;
 		etaDirichlet[0] = 731.5;
 		
+		// no rain: the aquifer is fed only by the Dirichlet cell
+		rainHour = new double[TimeSimulation.SIMULATIONTIME
+				/ TimeSimulation.TIMESTEP + 1];
+		
 	}
 
 	public void getSideProperties() throws FileNotFoundException {
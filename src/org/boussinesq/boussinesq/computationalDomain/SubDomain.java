@@ -0,0 +1,148 @@
+package org.boussinesq.boussinesq.computationalDomain;
+
+import org.meshNumericalMethods.unstructuredMesh.adjacencyMatrixBased.AbstractRCAdjacencyMatrixBased;
+
+/**
+ * The Class SubDomain.
+ *
+ * @desc this class holds a subset of the cells of a domain as a domain: the
+ *       adjacency matrix restricted to the cells of the subset, with the
+ *       sides to the other cells removed, and the properties of the cells
+ *       used by the Newton's method. The k-th cell of the subdomain is the
+ *       cell cells[k] of the domain, and the k-th entry of the adjacency
+ *       matrix is the entry entryMap[k] of the domain.
+ */
+public class SubDomain extends AbstractRCAdjacencyMatrixBased {
+
+	/** The cells of the domain, in increasing order. */
+	public int[] cells;
+
+	/** The indices in the domain of the entries of the adjacency matrix. */
+	public int[] entryMap;
+
+	/**
+	 * Instantiates a new subdomain.
+	 *
+	 * @param mesh
+	 *            the domain
+	 * @param cells
+	 *            the cells of the subdomain, in increasing order
+	 * @param index
+	 *            the array of the index in the subdomain of every cell of the
+	 *            domain, negative for the cells out of the subdomain
+	 */
+	public SubDomain(AbstractRCAdjacencyMatrixBased mesh, int[] cells,
+			int[] index) {
+
+		this.cells = cells;
+
+		NOVALUE = mesh.NOVALUE;
+		polygonsNumber = cells.length;
+
+		Mp = new int[polygonsNumber + 1];
+
+		for (int k = 0; k < polygonsNumber; k++) {
+
+			Mp[k + 1] = Mp[k];
+
+			for (int j = mesh.Mp[cells[k]]; j < mesh.Mp[cells[k] + 1]; j++) {
+
+				if (index[mesh.Mi[j]] >= 0) {
+
+					Mp[k + 1]++;
+
+				}
+
+			}
+
+		}
+
+		// the cells are in increasing order, so the columns stay sorted
+		Mi = new int[Mp[polygonsNumber]];
+		entryMap = new int[Mi.length];
+
+		for (int k = 0, last = 0; k < polygonsNumber; k++) {
+
+			for (int j = mesh.Mp[cells[k]]; j < mesh.Mp[cells[k] + 1]; j++) {
+
+				if (index[mesh.Mi[j]] >= 0) {
+
+					Mi[last] = index[mesh.Mi[j]];
+					entryMap[last] = j;
+					last++;
+
+				}
+
+			}
+
+		}
+
+		planArea = restrict(mesh.planArea, new double[polygonsNumber]);
+		etaDirichlet = restrict(mesh.etaDirichlet, new double[polygonsNumber]);
+		bedRockElevation = restrict(mesh.bedRockElevation,
+				new double[polygonsNumber]);
+		porosity = restrict(mesh.porosity, new double[polygonsNumber]);
+
+	}
+
+	/**
+	 * Restrict.
+	 *
+	 * @desc this method writes the values of the cells of the subdomain into
+	 *       the array restricted
+	 *
+	 * @return the array restricted
+	 */
+	public double[] restrict(double[] array, double[] restricted) {
+
+		for (int k = 0; k < polygonsNumber; k++) {
+
+			restricted[k] = array[cells[k]];
+
+		}
+
+		return restricted;
+
+	}
+
+	/**
+	 * Prolong.
+	 *
+	 * @desc this method writes the values of the cells of the subdomain into
+	 *       the array of the domain; the other cells are not written
+	 */
+	public void prolong(double[] restricted, double[] array) {
+
+		for (int k = 0; k < polygonsNumber; k++) {
+
+			array[cells[k]] = restricted[k];
+
+		}
+
+	}
+
+	public void getAdjacencyMatrix() {
+
+		// the adjacency matrix is restricted from the one of the domain
+
+	}
+
+	public void getGridProperties() {
+
+		// the Newton's method doesn't use the sides
+
+	}
+
+	public void getPolygonProperties() {
+
+		// the properties are restricted from the ones of the domain
+
+	}
+
+	public void getSideProperties() {
+
+		// the Newton's method doesn't use the sides
+
+	}
+
+}
@@ -0,0 +1,485 @@
+package org.boussinesq.boussinesq.computationalDomain;
+
+import java.util.Random;
+
+import org.boussinesq.boussinesq.TimeSimulation;
+
+/**
+ * The Class SyntheticDomain.
+ *
+ * @desc this class generates a computational domain of any size without
+ *       reading files, to run benchmarks and scaling tests. Three topologies
+ *       are available:
+ *
+ *       - chain: 1D chain of nx square cells (like the Song domain)
+ *       - grid: 2D structured grid of nx x ny square cells
+ *       - triangulation: unstructured triangulation of 2 x nx x ny
+ *         triangles, obtained from a grid of randomly perturbed nodes where
+ *         every quadrilateral is split along a random diagonal
+ *
+ *       The adjacency matrix is built in Row Compressed Form with the same
+ *       convention of the catchments: the column indices of every row are
+ *       sorted, the diagonal entry has Ml = -1 and the other entries have
+ *       the number of the shared side, starting from 1. The boundary of the
+ *       domain is a no-flux boundary. The bedrock is a plane that rises
+ *       along x, with the outlet at x = 0.
+ */
+public class SyntheticDomain extends ComputationalDomain {
+
+	public final static String CHAIN = "chain";
+	public final static String GRID = "grid";
+	public final static String TRIANGULATION = "triangulation";
+
+	/** The length of the side of the cells of the grid [m]. */
+	public final static double CELLSIZE = 10;
+
+	/** The slope of the bedrock along x. */
+	public final static double SLOPE = 0.01;
+
+	/** The bedrock elevation at the outlet [m]. */
+	public final static double BEDROCKOUTLET = 400;
+
+	/** The initial thickness of the aquifer [m]. */
+	public final static double INITIALTHICKNESS = 1;
+
+	public final static double POROSITY = 0.4;
+	public final static double HYDRCONDUCTIVITY = 0.0001;
+
+	/** The rain per unit area of the polygon [m/s]. */
+	public final static double RAIN = 8.0E-7;
+
+	public String topology;
+	public int nx;
+	public int ny;
+
+	/** The coordinates of the centroids of the polygons. */
+	public double[] xCentroid;
+	public double[] yCentroid;
+
+	/** The polygons that share every side (not stored after the build). */
+	int[] sidePolygonA;
+	int[] sidePolygonB;
+	int sidesNumber;
+
+	Random random;
+
+	/**
+	 * Instantiates a new synthetic domain.
+	 *
+	 * @param topology
+	 *            the topology: chain, grid or triangulation
+	 * @param nx
+	 *            the number of cells along x
+	 * @param ny
+	 *            the number of cells along y (ignored for the chain)
+	 * @param seed
+	 *            the seed of the random generator of the triangulation
+	 */
+	public SyntheticDomain(String topology, int nx, int ny, long seed) {
+
+		NOVALUE = -9999;
+
+		this.topology = topology;
+		this.nx = nx;
+		this.ny = topology.equals(CHAIN) ? 1 : ny;
+		random = new Random(seed);
+
+		getAdjacencyMatrix();
+		getGridProperties();
+		getPolygonProperties();
+		getSideProperties();
+
+		sidePolygonA = null;
+		sidePolygonB = null;
+
+	}
+
+	/**
+	 * Instantiates a new synthetic domain from its name.
+	 *
+	 * @desc the name is topology-nx or topology-nxxny, e.g. chain-1000,
+	 *       grid-300x200 or triangulation-1000x1000
+	 *
+	 * @param name
+	 *            the name of the domain
+	 * @param seed
+	 *            the seed of the random generator of the triangulation
+	 */
+	public static SyntheticDomain fromName(String name, long seed) {
+
+		String[] fields = name.split("-");
+		String[] sizes = fields[1].split("x");
+
+		int nx = Integer.parseInt(sizes[0]);
+		int ny = (sizes.length > 1) ? Integer.parseInt(sizes[1]) : 1;
+
+		return new SyntheticDomain(fields[0], nx, ny, seed);
+
+	}
+
+	public void getAdjacencyMatrix() {
+
+		if (topology.equals(TRIANGULATION)) {
+
+			triangulationSides();
+
+		} else if (topology.equals(GRID) || topology.equals(CHAIN)) {
+
+			gridSides();
+
+		} else {
+
+			throw new IllegalArgumentException("Unknown topology: " + topology);
+
+		}
+
+		// number of non-zero entries of every row: the diagonal and the sides
+		Mp = new int[polygonsNumber + 1];
+
+		for (int s = 0; s < sidesNumber; s++) {
+
+			Mp[sidePolygonA[s] + 1]++;
+			Mp[sidePolygonB[s] + 1]++;
+
+		}
+
+		for (int i = 0; i < polygonsNumber; i++) {
+
+			Mp[i + 1] += Mp[i] + 1;
+
+		}
+
+		Mi = new int[Mp[polygonsNumber]];
+		Ml = new double[Mp[polygonsNumber]];
+
+		int[] next = new int[polygonsNumber];
+
+		for (int i = 0; i < polygonsNumber; i++) {
+
+			Mi[Mp[i]] = i;
+			Ml[Mp[i]] = -1;
+			next[i] = Mp[i] + 1;
+
+		}
+
+		for (int s = 0; s < sidesNumber; s++) {
+
+			Mi[next[sidePolygonA[s]]] = sidePolygonB[s];
+			Ml[next[sidePolygonA[s]]++] = s + 1;
+
+			Mi[next[sidePolygonB[s]]] = sidePolygonA[s];
+			Ml[next[sidePolygonB[s]]++] = s + 1;
+
+		}
+
+		// sort the column indices of every row (few entries, insertion sort)
+		for (int i = 0; i < polygonsNumber; i++) {
+
+			for (int j = Mp[i] + 1; j < Mp[i + 1]; j++) {
+
+				int column = Mi[j];
+				double side = Ml[j];
+				int k = j - 1;
+
+				while (k >= Mp[i] && Mi[k] > column) {
+
+					Mi[k + 1] = Mi[k];
+					Ml[k + 1] = Ml[k];
+					k--;
+
+				}
+
+				Mi[k + 1] = column;
+				Ml[k + 1] = side;
+
+			}
+
+		}
+
+	}
+
+	/**
+	 * Grid sides.
+	 *
+	 * @desc this method computes the geometry of the structured grid: the
+	 *       polygon (ix, iy) has index iy * nx + ix, the first sides are the
+	 *       ones between polygons of the same row, then the ones between
+	 *       polygons of the same column
+	 */
+	void gridSides() {
+
+		polygonsNumber = nx * ny;
+		sidesNumber = ny * (nx - 1) + nx * (ny - 1);
+
+		xCentroid = new double[polygonsNumber];
+		yCentroid = new double[polygonsNumber];
+		planArea = new double[polygonsNumber];
+
+		sidePolygonA = new int[sidesNumber];
+		sidePolygonB = new int[sidesNumber];
+		lengthSides = new double[sidesNumber];
+		euclideanDistance = new double[sidesNumber];
+
+		for (int iy = 0; iy < ny; iy++) {
+
+			for (int ix = 0; ix < nx; ix++) {
+
+				int i = iy * nx + ix;
+
+				xCentroid[i] = (ix + 0.5) * CELLSIZE;
+				yCentroid[i] = (iy + 0.5) * CELLSIZE;
+				planArea[i] = CELLSIZE * CELLSIZE;
+
+			}
+
+		}
+
+		int s = 0;
+
+		for (int iy = 0; iy < ny; iy++) {
+
+			for (int ix = 0; ix < nx - 1; ix++) {
+
+				addSide(s++, iy * nx + ix, iy * nx + ix + 1, CELLSIZE);
+
+			}
+
+		}
+
+		for (int iy = 0; iy < ny - 1; iy++) {
+
+			for (int ix = 0; ix < nx; ix++) {
+
+				addSide(s++, iy * nx + ix, (iy + 1) * nx + ix, CELLSIZE);
+
+			}
+
+		}
+
+	}
+
+	/**
+	 * Triangulation sides.
+	 *
+	 * @desc this method computes the geometry of the unstructured
+	 *       triangulation. The quadrilateral q = iy * nx + ix is split in the
+	 *       triangles A = 2q and B = 2q + 1: A always holds the bottom side of
+	 *       the quadrilateral and B the top side; with the diagonal from the
+	 *       bottom-left to the top-right node A holds the right side,
+	 *       otherwise A holds the left side.
+	 */
+	void triangulationSides() {
+
+		int nodesX = nx + 1;
+		int nodesY = ny + 1;
+
+		double[] xNode = new double[nodesX * nodesY];
+		double[] yNode = new double[nodesX * nodesY];
+
+		// the internal nodes are moved randomly, the boundary stays straight
+		for (int iy = 0; iy < nodesY; iy++) {
+
+			for (int ix = 0; ix < nodesX; ix++) {
+
+				int n = iy * nodesX + ix;
+
+				xNode[n] = ix * CELLSIZE;
+				yNode[n] = iy * CELLSIZE;
+
+				if (ix > 0 && ix < nx && iy > 0 && iy < ny) {
+
+					xNode[n] += (random.nextDouble() - 0.5) * 0.5 * CELLSIZE;
+					yNode[n] += (random.nextDouble() - 0.5) * 0.5 * CELLSIZE;
+
+				}
+
+			}
+
+		}
+
+		boolean[] diagonal = new boolean[nx * ny];
+
+		for (int q = 0; q < diagonal.length; q++) {
+
+			diagonal[q] = random.nextBoolean();
+
+		}
+
+		polygonsNumber = 2 * nx * ny;
+		sidesNumber = nx * ny + ny * (nx - 1) + nx * (ny - 1);
+
+		xCentroid = new double[polygonsNumber];
+		yCentroid = new double[polygonsNumber];
+		planArea = new double[polygonsNumber];
+
+		sidePolygonA = new int[sidesNumber];
+		sidePolygonB = new int[sidesNumber];
+		lengthSides = new double[sidesNumber];
+		euclideanDistance = new double[sidesNumber];
+
+		for (int iy = 0; iy < ny; iy++) {
+
+			for (int ix = 0; ix < nx; ix++) {
+
+				int q = iy * nx + ix;
+
+				int n00 = iy * nodesX + ix;
+				int n10 = n00 + 1;
+				int n01 = n00 + nodesX;
+				int n11 = n01 + 1;
+
+				if (diagonal[q]) {
+
+					triangle(2 * q, n00, n10, n11, xNode, yNode);
+					triangle(2 * q + 1, n00, n11, n01, xNode, yNode);
+
+				} else {
+
+					triangle(2 * q, n00, n10, n01, xNode, yNode);
+					triangle(2 * q + 1, n10, n11, n01, xNode, yNode);
+
+				}
+
+			}
+
+		}
+
+		int s = 0;
+
+		// diagonal sides
+		for (int iy = 0; iy < ny; iy++) {
+
+			for (int ix = 0; ix < nx; ix++) {
+
+				int q = iy * nx + ix;
+
+				int n00 = iy * nodesX + ix;
+				int a = diagonal[q] ? n00 : n00 + 1;
+				int b = diagonal[q] ? n00 + nodesX + 1 : n00 + nodesX;
+
+				addSide(s++, 2 * q, 2 * q + 1,
+						distance(xNode[a], yNode[a], xNode[b], yNode[b]));
+
+			}
+
+		}
+
+		// vertical sides, between the quadrilaterals (ix, iy) and (ix+1, iy)
+		for (int iy = 0; iy < ny; iy++) {
+
+			for (int ix = 0; ix < nx - 1; ix++) {
+
+				int q = iy * nx + ix;
+
+				int a = iy * nodesX + ix + 1;
+				int b = a + nodesX;
+
+				int left = diagonal[q] ? 2 * q : 2 * q + 1;
+				int right = diagonal[q + 1] ? 2 * (q + 1) + 1 : 2 * (q + 1);
+
+				addSide(s++, left, right,
+						distance(xNode[a], yNode[a], xNode[b], yNode[b]));
+
+			}
+
+		}
+
+		// horizontal sides, between the quadrilaterals (ix, iy) and (ix, iy+1)
+		for (int iy = 0; iy < ny - 1; iy++) {
+
+			for (int ix = 0; ix < nx; ix++) {
+
+				int q = iy * nx + ix;
+
+				int a = (iy + 1) * nodesX + ix;
+				int b = a + 1;
+
+				addSide(s++, 2 * q + 1, 2 * (q + nx),
+						distance(xNode[a], yNode[a], xNode[b], yNode[b]));
+
+			}
+
+		}
+
+	}
+
+	void triangle(int index, int a, int b, int c, double[] xNode,
+			double[] yNode) {
+
+		xCentroid[index] = (xNode[a] + xNode[b] + xNode[c]) / 3;
+		yCentroid[index] = (yNode[a] + yNode[b] + yNode[c]) / 3;
+
+		planArea[index] = 0.5 * Math.abs((xNode[b] - xNode[a])
+				* (yNode[c] - yNode[a]) - (xNode[c] - xNode[a])
+				* (yNode[b] - yNode[a]));
+
+	}
+
+	void addSide(int side, int polygonA, int polygonB, double length) {
+
+		sidePolygonA[side] = polygonA;
+		sidePolygonB[side] = polygonB;
+		lengthSides[side] = length;
+		euclideanDistance[side] = distance(xCentroid[polygonA],
+				yCentroid[polygonA], xCentroid[polygonB], yCentroid[polygonB]);
+
+	}
+
+	static double distance(double x1, double y1, double x2, double y2) {
+
+		return Math.sqrt((x2 - x1) * (x2 - x1) + (y2 - y1) * (y2 - y1));
+
+	}
+
+	public void getGridProperties() {
+
+		// lengthSides, euclideanDistance and planArea are computed with the
+		// adjacency matrix, because they come from the same geometry
+
+	}
+
+	public void getPolygonProperties() {
+
+		eta = new double[polygonsNumber];
+		etaDirichlet = new double[polygonsNumber];
+		bedRockElevation = new double[polygonsNumber];
+		porosity = new double[polygonsNumber];
+		c = new double[polygonsNumber];
+		m = new double[polygonsNumber];
+
+		for (int i = 0; i < polygonsNumber; i++) {
+
+			bedRockElevation[i] = BEDROCKOUTLET + SLOPE * xCentroid[i];
+			eta[i] = bedRockElevation[i] + INITIALTHICKNESS;
+			etaDirichlet[i] = NOVALUE;
+			porosity[i] = POROSITY;
+			c[i] = 0;
+			m[i] = 1;
+
+		}
+
+		// the rain is a time series, one value for every time step
+		rainHour = new double[TimeSimulation.SIMULATIONTIME
+				/ TimeSimulation.TIMESTEP + 1];
+
+		for (int t = 0; t < rainHour.length; t++) {
+
+			rainHour[t] = RAIN;
+
+		}
+
+	}
+
+	public void getSideProperties() {
+
+		hydrConductivity = new double[sidesNumber];
+
+		for (int s = 0; s < sidesNumber; s++) {
+
+			hydrConductivity[s] = HYDRCONDUCTIVITY;
+
+		}
+
+	}
+
+}
@@ -87,8 +87,26 @@ public class Song {
 
 	public void beqSong(double[] porosity) throws IOException {
 
-		File outputPathSong = defineSolutionPrintLocation();
-		
+		beqSong(porosity, defineSolutionPrintLocation());
+
+	}
+
+	/**
+	 * Beq song.
+	 * 
+	 * @desc this method writes the analytical solution into the folder
+	 *       outputPathSong, without opening any dialog
+	 * 
+	 * @param porosity
+	 *            the porosity of the cells
+	 * @param outputPathSong
+	 *            the folder of the solution
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public void beqSong(double[] porosity, File outputPathSong)
+			throws IOException {
+
 		String song = "songks";
 		song = song.concat(Double.toString(hydraulicConductivity));
 		song = song.concat("days").concat(Integer.toString(t/(3600*24)));
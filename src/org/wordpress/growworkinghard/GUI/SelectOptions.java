@@ -2,35 +2,65 @@ package org.wordpress.growworkinghard.GUI;
 
 import java.awt.*;
 import java.awt.event.*;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import javax.swing.*;
- 
+
+import org.wordpress.growworkinghard.usefulClasses.TextIO;
+
+/**
+ * The Class SelectOptions.
+ *
+ * @desc this class shows a window with a combo box of options and waits for
+ *       the OK of the user. The window is built and changed only on the
+ *       event dispatch thread; the main thread sleeps on a latch until the
+ *       button releases it with the selected option. Without a display, or
+ *       if nothing is selected in TIMEOUT seconds, the window is closed and
+ *       the option is read from the console.
+ */
 public class SelectOptions {
-    
+
+   /** The seconds to wait for the selection in the window. */
+   public static long TIMEOUT = 600;
+
    private JFrame mainFrame;
    private JLabel headerLabel;
    private JLabel statusLabel;
-   private static JPanel controlPanel;
+   private JPanel controlPanel;
    DefaultComboBoxModel<String> options;
    public static String item;
    public static String name;
-   static int click = 0;
-   static boolean done = false;
-   
+
+   /** The latch released by the OK button. */
+   final CountDownLatch selection = new CountDownLatch(1);
+
+   /** True when the window no longer accepts a selection, under this lock. */
+   boolean closed;
+
    public SelectOptions(){
-	   
+
 	   options = new DefaultComboBoxModel<String>();
 	      options.addElement("--Select--");
-	   prepareGUI();
+
+	   if (!GraphicsEnvironment.isHeadless()
+			   && !runOnEventDispatchThread(new Runnable() {
+				   public void run() {
+					   prepareGUI();
+				   }
+			   })) {
+		   mainFrame = null;
+	   }
 
    }
-   
+
    public void addOptions(String input){
-	   
+
 	   options.addElement(input);
-	   
+
    }
-   
+
    private void prepareGUI(){
       mainFrame = new JFrame("Java Swing Examples");
       mainFrame.setSize(400,400);
@@ -38,10 +68,10 @@ public class SelectOptions {
       mainFrame.addWindowListener(new WindowAdapter() {
          public void windowClosing(WindowEvent windowEvent){
             System.exit(0);
-         }        
-      });    
-      headerLabel = new JLabel("", JLabel.CENTER);        
-      statusLabel = new JLabel("",JLabel.CENTER);    
+         }
+      });
+      headerLabel = new JLabel("", JLabel.CENTER);
+      statusLabel = new JLabel("",JLabel.CENTER);
 
       statusLabel.setSize(350,100);
 
@@ -51,100 +81,166 @@ public class SelectOptions {
       mainFrame.add(headerLabel);
       mainFrame.add(controlPanel);
       mainFrame.add(statusLabel);
-      mainFrame.setVisible(true);  
+      mainFrame.setVisible(true);
    }
 
-   public void showComboboxDemo(){                                    
-      headerLabel.setText("Control in action: JComboBox"); 
-      
+   /**
+    * Show combobox demo.
+    *
+    * @desc this method shows the options and returns when one of them is
+    *       selected, in the window or from the console; the selected option
+    *       is in name
+    */
+   public void showComboboxDemo(){
+
+      if (mainFrame == null) {
+         selectFromConsole();
+         return;
+      }
 
-      final JComboBox<String> fruitCombo = new JComboBox<String>(options);    
-      fruitCombo.setSelectedIndex(0);
+      boolean shown = runOnEventDispatchThread(new Runnable() {
+         public void run() {
+            showComboBox();
+         }
+      });
 
-      JScrollPane fruitListScrollPane = new JScrollPane(fruitCombo);    
+      boolean selected = false;
 
-      JButton showButton = new JButton("OK");
-      
-      controlPanel.add(fruitListScrollPane);          
-      controlPanel.add(showButton);
+      try {
+         selected = shown && selection.await(TIMEOUT, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      }
 
-      mainFrame.setVisible(true); 
-      
-      
-      
-      do {
-              // do stuff
-
-     
-      
-      ActionListener actionListener = new ActionListener() {
-      public void actionPerformed(ActionEvent actionEvent) {
-    	  
-    	  
-      ItemSelectable is = (ItemSelectable)actionEvent.getSource();
-      
-      String data = "";
-      if (fruitCombo.getSelectedIndex() != -1) {                     
-         data = "SIMULATION SELECTED: " 
-            + fruitCombo.getItemAt
-              (fruitCombo.getSelectedIndex());             
-      }              
-      statusLabel.setText(data);
-      
-      name=selectedString(is);
-      
-//      JOptionPane.showMessageDialog(null,"You have Selected: " + name);
-     
-      
-      
+      // an OK already queued on the event dispatch thread is ignored from
+      // now on, unless it has already released the latch
+      synchronized (this) {
+         closed = true;
+         selected = selection.getCount() == 0;
       }
 
-      };
-      
-      fruitCombo.addActionListener(actionListener);
+      if (!selected) {
+         SwingUtilities.invokeLater(new Runnable() {
+            public void run() {
+               mainFrame.dispose();
+            }
+         });
+         TextIO.putln("No simulation selected in the window");
+         selectFromConsole();
+      }
+
+   }
+
+   /**
+    * Show combo box.
+    *
+    * @desc this method adds the combo box and the OK button to the window
+    *       and shows it; it runs on the event dispatch thread
+    */
+   void showComboBox(){
+
+      headerLabel.setText("Control in action: JComboBox");
 
+      final JComboBox<String> fruitCombo = new JComboBox<String>(options);
+      fruitCombo.setSelectedIndex(0);
 
-      
+      JScrollPane fruitListScrollPane = new JScrollPane(fruitCombo);
 
-//    else buttonPress = false;  // insures buttonPress is false, not needed
+      JButton showButton = new JButton("OK");
 
+      // the listeners are registered once, they run on the event dispatch
+      // thread
+      fruitCombo.addActionListener(new ActionListener() {
+         public void actionPerformed(ActionEvent actionEvent) {
+            String data = "";
+            if (fruitCombo.getSelectedIndex() > 0) {
+               data = "SIMULATION SELECTED: "
+                  + fruitCombo.getItemAt
+                    (fruitCombo.getSelectedIndex());
+            }
+            statusLabel.setText(data);
+         }
+      });
 
       showButton.addActionListener(new ActionListener() {
-         public void actionPerformed(ActionEvent e) { 
-
-        	 
-        	 mainFrame.dispose();
-        	 click = 1;
-        	 
-        	 
+         public void actionPerformed(ActionEvent e) {
+            if (fruitCombo.getSelectedIndex() <= 0) {
+               statusLabel.setText("Select a simulation");
+               return;
+            }
+            synchronized (SelectOptions.this) {
+               if (closed) {
+                  return;
+               }
+               name = (String) fruitCombo.getSelectedItem();
+               selection.countDown();
+            }
+            mainFrame.dispose();
          }
-      }); 
+      });
 
+      controlPanel.add(fruitListScrollPane);
+      controlPanel.add(showButton);
+
+      mainFrame.setVisible(true);
+
+   }
 
-      if (click == 1) done = true;
-      // ends loop
-    
-    } while(!done);
+   /**
+    * Run on event dispatch thread.
+    *
+    * @desc this method runs the task on the event dispatch thread and waits
+    *       for it
+    *
+    * @return false if the task didn't complete
+    */
+   boolean runOnEventDispatchThread(Runnable task){
+
+      try {
+         SwingUtilities.invokeAndWait(task);
+         return true;
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      } catch (InvocationTargetException e) {
+         TextIO.putln("The window can't be shown: " + e.getCause());
+      }
 
-  
+      return false;
 
+   }
+
+   /**
+    * Select from console.
+    *
+    * @desc this method lists the options on the console and reads the number
+    *       of the selected one
+    */
+   void selectFromConsole(){
+
+      for (int i = 1; i < options.getSize(); i++) {
+         TextIO.putln(i + " - " + options.getElementAt(i));
+      }
+
+      int selected = 0;
+
+      while (selected < 1 || selected >= options.getSize()) {
+         TextIO.putln("Select the simulation (1-" + (options.getSize() - 1)
+               + "):");
+         selected = TextIO.getlnInt();
+      }
+
+      name = options.getElementAt(selected);
+
+   }
 
-      
-   } 
-   
-   static private String selectedString(ItemSelectable is) {
-   Object selected[] = is.getSelectedObjects();
-   return ((selected.length == 0) ? "null" : (String)selected[0]);
- } 
-   
    public static void main(String[] args){
-	      SelectOptions swingControlDemo = new SelectOptions();   
+	      SelectOptions swingControlDemo = new SelectOptions();
 	      swingControlDemo.addOptions("Song");
 	      swingControlDemo.addOptions("Catchment");
 	      swingControlDemo.showComboboxDemo();
-	      
+
 	      System.out.println(name);
-	      
+
 	      System.exit(0);
 	   }
-}
\ No newline at end of file
+}
@@ -12,6 +12,12 @@ import java.util.Scanner;
  */
 public class FileRead {
 
+	/**
+	 * The FileChannel fast path of readDoubleArray and readIntArray: the files
+	 * are mapped in memory instead of being read through a stream.
+	 */
+	public static boolean FILECHANNEL = true;
+
 	/** The row. */
 	int row = 0;
 
@@ -37,8 +43,18 @@ public class FileRead {
 	 */
 	public double[][] readDoubleMatrix(File filePath) throws IOException {
 
-		readDoubleMatrixDimension(filePath);
-		loadDoubleMatrix(filePath);
+		NumberFileReader reader = new NumberFileReader(filePath, FILECHANNEL);
+
+		double[] values = reader.readDoubleArray();
+		setDimension(reader);
+
+		doubleMatrix = new double[row][col];
+
+		for (int r = 0; r < row; r++) {
+
+			System.arraycopy(values, r * col, doubleMatrix[r], 0, col);
+
+		}
 
 		return doubleMatrix;
 
@@ -47,6 +63,9 @@ public class FileRead {
 	/**
 	 * Read double array.
 	 * 
+	 * @desc the file, a column or a row of numbers, is read in one pass by
+	 *       NumberFileReader
+	 * 
 	 * @param filePath
 	 *            the file path
 	 * @return the double[]
@@ -56,35 +75,49 @@ public class FileRead {
 	public double[] readDoubleArray(File filePath)
 			throws FileNotFoundException {
 
-		readDoubleMatrixDimension(filePath);
-
-		if (col == 1) {
+		NumberFileReader reader = new NumberFileReader(filePath, FILECHANNEL);
 
-			readColumnDoubleArray(filePath);
-
-		} else if (row == 1) {
-
-			readRowDoubleArray(filePath);
-		}
+		doubleArray = reader.readDoubleArray();
+		setDimension(reader);
 
 		return doubleArray;
 
 	}
 	
+	/**
+	 * Read int array.
+	 * 
+	 * @desc the file, a column or a row of numbers, is read in one pass by
+	 *       NumberFileReader
+	 * 
+	 * @param filePath
+	 *            the file path
+	 * @return the int[]
+	 * @throws FileNotFoundException
+	 *             the file not found exception
+	 */
 	public int[] readIntArray(File filePath) throws FileNotFoundException{
 		
-		readIntMatrixDimension(filePath);
+		NumberFileReader reader = new NumberFileReader(filePath, FILECHANNEL);
+
+		intArray = reader.readIntArray();
+		setDimension(reader);
 		
-		if (col == 1) {
+		return intArray;
+	}
 
-			readColumnIntArray(filePath);
+	/**
+	 * Set dimension.
+	 * 
+	 * @desc the number of rows and of columns of the file read;
+	 *       NumberFileReader checks that all the rows have the same number of
+	 *       numbers
+	 */
+	void setDimension(NumberFileReader reader) {
 
-		} else if (row == 1) {
+		row = reader.rows;
+		col = reader.columns;
 
-			readRowIntArray(filePath);
-		}
-		
-		return intArray;
 	}
 
 	/**
@@ -0,0 +1,569 @@
+package org.wordpress.growworkinghard.usefulClasses;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * The Class NumberFileReader.
+ *
+ * @desc this class reads all the numbers of a text file in one pass, into a
+ *       primitive array that grows while the file is read. The numbers are
+ *       separated by white spaces and new lines, so a column, a row and a
+ *       matrix of numbers are read in the same way, by rows; all the rows
+ *       must have the same number of numbers as the first one. The bytes are
+ *       read in blocks from a stream or, with the FileChannel fast path, from
+ *       the file mapped in memory, and every number is parsed from its bytes
+ *       without building a String: the decimal numbers whose digits are
+ *       less than 2^53 and whose exponent is between -22 and 22, as the
+ *       ones of the input files, are computed with a single rounding from
+ *       their digits, so they are the same of Double.parseDouble, that
+ *       parses all the others.
+ */
+public class NumberFileReader {
+
+	/** The size of the blocks of bytes read from the file. */
+	public static final int BUFFERSIZE = 1 << 16;
+
+	/** The max size of a region of the file mapped in memory. */
+	static final long MAPSIZE = 1L << 28;
+
+	/** The powers of ten that are exact in double precision. */
+	static final double[] POWERS = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7,
+			1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18,
+			1e19, 1e20, 1e21, 1e22 };
+
+	/** The max mantissa that is exact in double precision, 2^53. */
+	static final long MAXMANTISSA = 1L << 53;
+
+	/** The number of rows of the file that hold at least one number. */
+	public int rows;
+
+	/** The number of numbers of the file. */
+	public int values;
+
+	/** The number of numbers of the first row. */
+	public int columns;
+
+	File file;
+	InputStream input;
+	FileChannel channel;
+	MappedByteBuffer mapped;
+	long mappedEnd;
+
+	byte[] buffer = new byte[BUFFERSIZE];
+	int position;
+	int limit;
+
+	/** The bytes of the last number read. */
+	byte[] token = new byte[64];
+	int tokenLength;
+
+	/** The flag that tells if the current row holds a number. */
+	boolean rowHasValues;
+
+	/** The number of numbers of the current row. */
+	int rowValues;
+
+	/** The number of new lines read. */
+	int lines;
+
+	/**
+	 * Instantiates a new number file reader.
+	 *
+	 * @param file
+	 *            the file
+	 * @param fileChannel
+	 *            true to map the file in memory, false to read it through a
+	 *            stream
+	 * @throws FileNotFoundException
+	 *             the file not found exception
+	 */
+	public NumberFileReader(File file, boolean fileChannel)
+			throws FileNotFoundException {
+
+		this.file = file;
+
+		FileInputStream stream = new FileInputStream(file);
+
+		if (fileChannel) {
+
+			channel = stream.getChannel();
+
+		} else {
+
+			input = stream;
+
+		}
+
+	}
+
+	/**
+	 * Read double array.
+	 *
+	 * @return the numbers of the file, by rows
+	 */
+	public double[] readDoubleArray() {
+
+		double[] array = new double[1024];
+
+		try {
+
+			while (nextToken()) {
+
+				if (values == array.length) {
+
+					array = Arrays.copyOf(array, 2 * array.length);
+
+				}
+
+				array[values++] = parseDouble();
+
+			}
+
+		} catch (IOException e) {
+
+			throw new IllegalStateException("Error reading " + file, e);
+
+		} finally {
+
+			close();
+
+		}
+
+		return Arrays.copyOf(array, values);
+
+	}
+
+	/**
+	 * Read int array.
+	 *
+	 * @return the numbers of the file, by rows
+	 */
+	public int[] readIntArray() {
+
+		int[] array = new int[1024];
+
+		try {
+
+			while (nextToken()) {
+
+				if (values == array.length) {
+
+					array = Arrays.copyOf(array, 2 * array.length);
+
+				}
+
+				array[values++] = parseInt();
+
+			}
+
+		} catch (IOException e) {
+
+			throw new IllegalStateException("Error reading " + file, e);
+
+		} finally {
+
+			close();
+
+		}
+
+		return Arrays.copyOf(array, values);
+
+	}
+
+	/**
+	 * Next token.
+	 *
+	 * @desc this method copies the bytes of the next number into token,
+	 *       counting the rows that are passed
+	 *
+	 * @return false at the end of the file
+	 */
+	boolean nextToken() throws IOException {
+
+		// the white spaces and the new lines before the number
+		while (true) {
+
+			if (position == limit && !fill()) {
+
+				if (rowHasValues) {
+
+					endRow();
+
+				}
+
+				return false;
+
+			}
+
+			byte b = buffer[position];
+
+			if (b > ' ') {
+
+				break;
+
+			}
+
+			if (b == '\n') {
+
+				if (rowHasValues) {
+
+					endRow();
+
+				}
+
+				lines++;
+
+			}
+
+			position++;
+
+		}
+
+		tokenLength = 0;
+		rowHasValues = true;
+		rowValues++;
+
+		while (true) {
+
+			if (position == limit && !fill()) {
+
+				return true;
+
+			}
+
+			byte b = buffer[position];
+
+			if (b <= ' ') {
+
+				return true;
+
+			}
+
+			if (tokenLength == token.length) {
+
+				token = Arrays.copyOf(token, 2 * token.length);
+
+			}
+
+			token[tokenLength++] = b;
+			position++;
+
+		}
+
+	}
+
+	/**
+	 * End row.
+	 *
+	 * @desc this method counts the row that ends, and checks that it has the
+	 *       same number of numbers as the first one
+	 */
+	void endRow() {
+
+		if (rows == 0) {
+
+			columns = rowValues;
+
+		} else if (rowValues != columns) {
+
+			throw new IllegalStateException("The line " + (lines + 1) + " of "
+					+ file + " has " + rowValues + " values instead of "
+					+ columns);
+
+		}
+
+		rows++;
+		rowValues = 0;
+		rowHasValues = false;
+
+	}
+
+	/**
+	 * Fill.
+	 *
+	 * @desc this method reads the next block of bytes of the file
+	 *
+	 * @return false at the end of the file
+	 */
+	boolean fill() throws IOException {
+
+		position = 0;
+		limit = 0;
+
+		if (input != null) {
+
+			int n = input.read(buffer);
+			limit = Math.max(n, 0);
+
+			return n > 0;
+
+		}
+
+		if (mapped == null || !mapped.hasRemaining()) {
+
+			long size = channel.size();
+
+			if (mappedEnd >= size) {
+
+				return false;
+
+			}
+
+			// the file is mapped by regions, so it can be bigger than 2 GB
+			long length = Math.min(MAPSIZE, size - mappedEnd);
+			mapped = channel.map(FileChannel.MapMode.READ_ONLY, mappedEnd,
+					length);
+			mappedEnd += length;
+
+		}
+
+		limit = Math.min(buffer.length, mapped.remaining());
+		mapped.get(buffer, 0, limit);
+
+		return true;
+
+	}
+
+	/**
+	 * Parse double.
+	 *
+	 * @return the number of the token
+	 */
+	double parseDouble() {
+
+		int i = 0;
+		boolean negative = false;
+
+		if (token[0] == '-' || token[0] == '+') {
+
+			negative = token[0] == '-';
+			i++;
+
+		}
+
+		long mantissa = 0;
+		int significantDigits = 0;
+		int digits = 0;
+		int exponent = 0;
+
+		// the leading zeros aren't significant; the digits after the 18th
+		// aren't added, so the long doesn't overflow, and the number is
+		// parsed by Double.parseDouble
+		for (; i < tokenLength && isDigit(token[i]); i++, digits++) {
+
+			if (significantDigits > 0 || token[i] != '0') {
+
+				mantissa = significantDigits < 18 ? 10 * mantissa
+						+ (token[i] - '0') : mantissa;
+				significantDigits++;
+
+			}
+
+		}
+
+		if (i < tokenLength && token[i] == '.') {
+
+			for (i++; i < tokenLength && isDigit(token[i]); i++, digits++) {
+
+				if (significantDigits > 0 || token[i] != '0') {
+
+					mantissa = significantDigits < 18 ? 10 * mantissa
+							+ (token[i] - '0') : mantissa;
+					significantDigits++;
+
+				}
+
+				exponent--;
+
+			}
+
+		}
+
+		if (i < tokenLength && digits > 0
+				&& (token[i] == 'e' || token[i] == 'E')) {
+
+			boolean negativeExponent = false;
+			i++;
+
+			if (i < tokenLength && (token[i] == '-' || token[i] == '+')) {
+
+				negativeExponent = token[i] == '-';
+				i++;
+
+			}
+
+			int exponentDigits = 0;
+			int value = 0;
+
+			for (; i < tokenLength && isDigit(token[i]); i++, exponentDigits++) {
+
+				value = 10 * value + (token[i] - '0');
+
+				if (exponentDigits > 6) {
+
+					return parseToken();
+
+				}
+
+			}
+
+			if (exponentDigits == 0) {
+
+				return parseToken();
+
+			}
+
+			exponent += negativeExponent ? -value : value;
+
+		}
+
+		if (i < tokenLength || digits == 0 || significantDigits > 17
+				|| mantissa >= MAXMANTISSA) {
+
+			return parseToken();
+
+		}
+
+		double value;
+
+		if (mantissa == 0) {
+
+			value = 0;
+
+		} else if (exponent >= 0 && exponent < POWERS.length) {
+
+			value = mantissa * POWERS[exponent];
+
+		} else if (exponent < 0 && -exponent < POWERS.length) {
+
+			value = mantissa / POWERS[-exponent];
+
+		} else {
+
+			return parseToken();
+
+		}
+
+		return negative ? -value : value;
+
+	}
+
+	/**
+	 * Parse int.
+	 *
+	 * @return the number of the token
+	 */
+	int parseInt() {
+
+		int i = 0;
+		boolean negative = false;
+
+		if (token[0] == '-' || token[0] == '+') {
+
+			negative = token[0] == '-';
+			i++;
+
+		}
+
+		long value = 0;
+
+		if (i == tokenLength || tokenLength - i > 10) {
+
+			return Integer.parseInt(tokenString());
+
+		}
+
+		for (; i < tokenLength; i++) {
+
+			if (!isDigit(token[i])) {
+
+				return Integer.parseInt(tokenString());
+
+			}
+
+			value = 10 * value + (token[i] - '0');
+
+		}
+
+		value = negative ? -value : value;
+
+		if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+
+			return Integer.parseInt(tokenString());
+
+		}
+
+		return (int) value;
+
+	}
+
+	/**
+	 * Parse token.
+	 *
+	 * @return the number of the token parsed by Double.parseDouble
+	 */
+	double parseToken() {
+
+		return Double.parseDouble(tokenString());
+
+	}
+
+	String tokenString() {
+
+		char[] chars = new char[tokenLength];
+
+		for (int i = 0; i < tokenLength; i++) {
+
+			chars[i] = (char) (token[i] & 0xff);
+
+		}
+
+		return new String(chars);
+
+	}
+
+	static boolean isDigit(byte b) {
+
+		return b >= '0' && b <= '9';
+
+	}
+
+	/**
+	 * Close.
+	 */
+	public void close() {
+
+		try {
+
+			if (input != null) {
+
+				input.close();
+
+			}
+
+			if (channel != null) {
+
+				channel.close();
+
+			}
+
+		} catch (IOException e) {
+
+			throw new IllegalStateException("Error closing " + file, e);
+
+		} finally {
+
+			mapped = null;
+
+		}
+
+	}
+
+}